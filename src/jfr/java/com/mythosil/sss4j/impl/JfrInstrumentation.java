@@ -0,0 +1,143 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.impl;
+
+import com.mythosil.sss4j.Instrumentation;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Instrumentation emitting JDK Flight Recorder events (JDK 11+).
+ *
+ * <p>
+ * Each operation is committed as a {@code com.mythosil.sss4j.Operation}
+ * event, which begins when the operation starts and ends when it finishes, and
+ * has the time of each phase as its fields. While no recording is running, or
+ * the running ones disable the event, each call costs an allocation of the
+ * event (usually eliminated by the JIT) and its {@code isEnabled()} check. The
+ * event is recorded by any recording unless disabled, e.g. by a JFC file with
+ * {@code <event name="com.mythosil.sss4j.Operation"><setting name="enabled">false</setting></event>},
+ * and a threshold drops operations shorter than it.
+ *
+ * <pre>
+ * Sss4j.setInstrumentation(new JfrInstrumentation());
+ * </pre>
+ *
+ * @since 1.1.0
+ */
+public class JfrInstrumentation implements Instrumentation {
+
+    @Override
+    public Object begin(Operation operation) {
+        OperationEvent event = new OperationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void record(Object context, Operation operation, long bytes, long elapsedNanos, long[] phaseNanos) {
+        if (context instanceof OperationEvent) {
+            OperationEvent event = (OperationEvent) context;
+            event.end();
+            commit(event, operation, bytes, elapsedNanos, phaseNanos);
+        }
+    }
+
+    /**
+     * To record a finished operation not begun with {@link #begin(Operation)}.
+     *
+     * <p>
+     * The event is committed with no duration of its own (see its elapsed field).
+     */
+    @Override
+    public void record(Operation operation, long bytes, long elapsedNanos, long[] phaseNanos) {
+        OperationEvent event = new OperationEvent();
+        if (event.isEnabled()) {
+            commit(event, operation, bytes, elapsedNanos, phaseNanos);
+        }
+    }
+
+    private static void commit(OperationEvent event, Operation operation, long bytes, long elapsedNanos,
+                               long[] phaseNanos) {
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.operation = operation.name();
+        event.bytes = bytes;
+        event.elapsed = elapsedNanos;
+        event.validation = phaseNanos[Phase.VALIDATION.ordinal()];
+        event.rng = phaseNanos[Phase.RNG.ordinal()];
+        event.evaluation = phaseNanos[Phase.EVALUATION.ordinal()];
+        event.interpolation = phaseNanos[Phase.INTERPOLATION.ordinal()];
+        event.solve = phaseNanos[Phase.SOLVE.ordinal()];
+        event.commit();
+    }
+
+    /**
+     * Event of an operation.
+     */
+    @Name("com.mythosil.sss4j.Operation")
+    @Label("Secret Sharing Operation")
+    @Description("Split, combine or issue of SSS4J with the time of each phase")
+    @Category("SSS4J")
+    @StackTrace(false)
+    static class OperationEvent extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Elapsed")
+        @Timespan
+        long elapsed;
+
+        @Label("Validation")
+        @Timespan
+        long validation;
+
+        @Label("RNG")
+        @Description("Time to draw random coefficients")
+        @Timespan
+        long rng;
+
+        @Label("Evaluation")
+        @Timespan
+        long evaluation;
+
+        @Label("Interpolation")
+        @Timespan
+        long interpolation;
+
+        @Label("Solve")
+        @Description("Time to solve for Lagrange weights")
+        @Timespan
+        long solve;
+
+    }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.bench;
+
+import com.mythosil.sss4j.GF256;
+import com.mythosil.sss4j.impl.GF256Factory;
+import com.mythosil.sss4j.impl.SwarGF256;
+import com.mythosil.sss4j.impl.TableGF256;
+
+/**
+ * Helpers shared among benchmarks.
+ */
+final class Benchmarks {
+
+    private Benchmarks() {
+        // make its constructor private
+    }
+
+    /**
+     * To get GF256 implementation of backend.
+     *
+     * <p>
+     * "vector" fails unless VectorGF256 is available on the runtime.
+     *
+     * @param backend    "default" (the fastest available), "table", "swar" or "vector"
+     * @return GF256 implementation
+     * @throws ReflectiveOperationException if VectorGF256 is not available
+     */
+    static GF256 gf256(String backend) throws ReflectiveOperationException {
+        switch (backend) {
+            case "default":
+                return GF256Factory.getFastest();
+            case "table":
+                return new TableGF256();
+            case "swar":
+                return new SwarGF256();
+            case "vector":
+                return (GF256) Class.forName("com.mythosil.sss4j.impl.VectorGF256")
+                        .getDeclaredConstructor().newInstance();
+            default:
+                throw new IllegalArgumentException("backend should be default, table, swar or vector");
+        }
+    }
+
+    /**
+     * To fail on setup rather than with OutOfMemoryError in the middle of measurement.
+     *
+     * @param bytes    bytes to be live at once
+     */
+    static void requireHeap(long bytes) {
+        long max = Runtime.getRuntime().maxMemory();
+        if (bytes > max) {
+            throw new IllegalStateException("heap should be larger than " + (bytes >> 20)
+                    + "MB (e.g. -jvmArgsAppend -Xmx" + ((bytes >> 30) + 1) + "g), but is " + (max >> 20) + "MB");
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.bench;
+
+import com.mythosil.sss4j.Combiner;
+import com.mythosil.sss4j.GF256;
+import com.mythosil.sss4j.Share;
+import com.mythosil.sss4j.Sss4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of combine and issue.
+ *
+ * <p>
+ * scheme is "K:N", and K shares are combined. backend is the GF256
+ * implementation ("default" is the fastest available, and "vector" fails on
+ * setup unless it is available). Thread counts can be given with {@code -t}.
+ * Sizes are up to 1MB by default; larger ones (e.g. {@code -p size=67108864})
+ * can be given in {@code -PjmhArgs}.
+ * Configurations whose shares do not fit in the heap (e.g. 128:255 of 64MB)
+ * fail on setup with the heap size they need, which can be given with
+ * {@code -jvmArgsAppend -Xmx<size>}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CombineBenchmark {
+
+    @Param({"32", "4096", "1048576"})
+    public int size;
+
+    @Param({"2:3", "3:5", "7:15", "128:255"})
+    public String scheme;
+
+    @Param({"default", "table", "swar", "vector"})
+    public String backend;
+
+    private List<Share> shares;
+    private int next;
+    private GF256 gf256;
+    private Combiner combiner;
+
+    @Setup
+    public void setUp(BenchmarkParams params) throws ReflectiveOperationException {
+        String[] kn = scheme.split(":");
+        int k = Integer.parseInt(kn[0]);
+        int n = Integer.parseInt(kn[1]);
+        // N shares on setup, then K shares and secrets of the last and the running combine on each thread
+        Benchmarks.requireHeap(Math.max(n, k + 2L * params.getThreads()) * size);
+        gf256 = Benchmarks.gf256(backend);
+        byte[] secret = new byte[size];
+        new Random(0).nextBytes(secret);
+        shares = Sss4j.split(secret, k, n, gf256).subList(0, k);
+        int[] indices = new int[k];
+        for (int i = 0; i < k; i++) {
+            indices[i] = shares.get(i).getIndex();
+        }
+        combiner = Combiner.forIndices(indices, gf256);
+        // index next to the given shares (K should be less than 255 for issue)
+        next = k + 1;
+    }
+
+    /**
+     * Buffer of secret for each thread.
+     */
+    @State(Scope.Thread)
+    public static class SecretBuffer {
+
+        private byte[] secret;
+
+        @Setup
+        public void setUp(CombineBenchmark benchmark) {
+            secret = new byte[benchmark.size];
+        }
+
+    }
+
+    @Benchmark
+    public byte[] combine() {
+        return Sss4j.combine(shares, gf256);
+    }
+
+    @Benchmark
+    public byte[] combiner() {
+        return combiner.combine(shares);
+    }
+
+    @Benchmark
+    public byte[] combineInto(SecretBuffer buffer) {
+        combiner.combineInto(shares, buffer.secret, 0);
+        return buffer.secret;
+    }
+
+    @Benchmark
+    public Share issue() {
+        return Sss4j.issue(shares, next, gf256);
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.bench;
+
+import com.mythosil.sss4j.GF256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of GF256 implementations.
+ *
+ * <p>
+ * VectorGF256 fails on setup unless it is available on the runtime.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GF256Benchmark {
+
+    @Param({"DefaultGF256", "TableGF256", "SwarGF256", "VectorGF256"})
+    public String impl;
+
+    @Param({"32", "4096", "1048576"})
+    public int size;
+
+    private GF256 gf256;
+    private byte[] src;
+    private byte[] dst;
+    private int c;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        gf256 = (GF256) Class.forName("com.mythosil.sss4j.impl." + impl).getDeclaredConstructor().newInstance();
+        Random random = new Random(0);
+        src = new byte[size];
+        dst = new byte[size];
+        random.nextBytes(src);
+        random.nextBytes(dst);
+        c = 0x53;
+    }
+
+    @Benchmark
+    public int mul() {
+        int ret = 0;
+        for (int i = 0; i < size; i++) {
+            ret ^= gf256.mul(c, src[i] & 0xFF);
+        }
+        return ret;
+    }
+
+    @Benchmark
+    public byte[] mulRegion() {
+        gf256.mulRegion(src, 0, c, dst, 0, size);
+        return dst;
+    }
+
+    @Benchmark
+    public byte[] mulAddRegion() {
+        gf256.mulAddRegion(src, 0, c, dst, 0, size);
+        return dst;
+    }
+
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.bench;
+
+import com.mythosil.sss4j.GF256;
+import com.mythosil.sss4j.GF256Matrix;
+import com.mythosil.sss4j.GF256Polynomial;
+import com.mythosil.sss4j.Point;
+import com.mythosil.sss4j.impl.GF256Factory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of polynomial evaluation, interpolation and matrix solve.
+ *
+ * <p>
+ * scheme is "K:N". evaluate computes N values of size polynomials of degree K-1,
+ * and interpolate recovers size intercepts from K values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PolynomialBenchmark {
+
+    @Param({"32", "4096", "1048576"})
+    public int size;
+
+    @Param({"2:3", "3:5", "7:15", "128:255"})
+    public String scheme;
+
+    private GF256 gf256;
+    private int[] xs;
+    private int[][] powers;
+    private byte[][] coefficients;
+    private byte[][] values;
+    private byte[] dst;
+    private List<Point> points;
+
+    @Setup
+    public void setUp() {
+        String[] kn = scheme.split(":");
+        int k = Integer.parseInt(kn[0]);
+        int n = Integer.parseInt(kn[1]);
+        Random random = new Random(0);
+        gf256 = GF256Factory.getFastest();
+
+        int[] allXs = new int[n];
+        for (int x = 1; x <= n; x++) {
+            allXs[x - 1] = x;
+        }
+        powers = GF256Polynomial.powers(allXs, k - 1, gf256);
+        coefficients = new byte[k][size];
+        for (byte[] c : coefficients) {
+            random.nextBytes(c);
+        }
+        values = new byte[n][size];
+        GF256Polynomial.evaluate(powers, coefficients, 0, size, values, 0, gf256);
+
+        xs = new int[k];
+        System.arraycopy(allXs, 0, xs, 0, k);
+        values = Arrays.copyOf(values, k);
+        dst = new byte[size];
+
+        points = new ArrayList<>();
+        for (int i = 0; i < k; i++) {
+            points.add(new Point(xs[i], values[i][0] & 0xFF));
+        }
+    }
+
+    @Benchmark
+    public byte[][] evaluate() {
+        byte[][] ret = new byte[powers.length][size];
+        GF256Polynomial.evaluate(powers, coefficients, 0, size, ret, 0, gf256);
+        return ret;
+    }
+
+    @Benchmark
+    public byte[] interpolate() {
+        GF256Polynomial.interpolate(xs, values, 0, size, 0, dst, 0, gf256);
+        return dst;
+    }
+
+    @Benchmark
+    public GF256Matrix solve() {
+        return new GF256Matrix(points, gf256).solve();
+    }
+
+    @Benchmark
+    public int[][] invertVandermonde() {
+        return GF256Matrix.invertVandermonde(xs, gf256);
+    }
+
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.bench;
+
+import com.mythosil.sss4j.GF256;
+import com.mythosil.sss4j.Share;
+import com.mythosil.sss4j.Splitter;
+import com.mythosil.sss4j.Sss4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of split.
+ *
+ * <p>
+ * scheme is "K:N", and backend is the GF256 implementation ("default" is the
+ * fastest available, and "vector" fails on setup unless it is available).
+ * Thread counts can be given with {@code -t}. Sizes are up to 1MB by default;
+ * larger ones (e.g. {@code -p size=67108864}) can be given in {@code -PjmhArgs}.
+ * Configurations whose shares do not fit in the heap (e.g. 128:255 of 16MB)
+ * fail on setup with the heap size they need, which can be given with
+ * {@code -jvmArgsAppend -Xmx<size>}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SplitBenchmark {
+
+    @Param({"32", "4096", "1048576"})
+    public int size;
+
+    @Param({"2:3", "3:5", "7:15", "128:255"})
+    public String scheme;
+
+    @Param({"default", "table", "swar", "vector"})
+    public String backend;
+
+    private byte[] secret;
+    private int k;
+    private int n;
+    private GF256 gf256;
+    private Splitter splitter;
+
+    @Setup
+    public void setUp(BenchmarkParams params) throws ReflectiveOperationException {
+        String[] kn = scheme.split(":");
+        k = Integer.parseInt(kn[0]);
+        n = Integer.parseInt(kn[1]);
+        // the secret, and shares of the last and the running split (or splitInto) on each thread
+        Benchmarks.requireHeap((1L + 2L * n * params.getThreads()) * size);
+        secret = new byte[size];
+        new Random(0).nextBytes(secret);
+        gf256 = Benchmarks.gf256(backend);
+        splitter = Splitter.of(k, n, gf256);
+    }
+
+    /**
+     * Buffers of shares for each thread.
+     */
+    @State(Scope.Thread)
+    public static class ShareBuffers {
+
+        private byte[][] shares;
+
+        @Setup
+        public void setUp(SplitBenchmark benchmark) {
+            shares = new byte[benchmark.n][benchmark.size];
+        }
+
+    }
+
+    @Benchmark
+    public List<Share> split() {
+        return Sss4j.split(secret, k, n, gf256);
+    }
+
+    @Benchmark
+    public List<Share> splitter() {
+        return splitter.split(secret);
+    }
+
+    @Benchmark
+    public byte[][] splitInto(ShareBuffers buffers) {
+        splitter.splitInto(secret, 0, size, buffers.shares);
+        return buffers.shares;
+    }
+
+    @Benchmark
+    public List<Share> splitParallel() {
+        return splitter.split(secret, ForkJoinPool.commonPool(), 64 * 1024);
+    }
+
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import java.util.Arrays;
+
+import static com.mythosil.sss4j.Blocks.BLOCK_SIZE;
+
+/**
+ * Berlekamp-Welch decoding of shares as a Reed-Solomon codeword.
+ *
+ * <p>
+ * M shares of a polynomial of degree K-1 are decoded even if up to
+ * E = (M-K)/2 of them are corrupted. Columns are first checked against the
+ * polynomial through the first K shares, and only the inconsistent ones are
+ * decoded one by one.
+ */
+final class BerlekampWelch {
+
+    private BerlekampWelch() {
+    }
+
+    /**
+     * To recover secret from shares which may be corrupted.
+     *
+     * @param xs        indices of shares (should be distinct)
+     * @param values    values of shares (should have the same length)
+     * @param k         K (should be xs.length or less)
+     * @param faulty    flags to set true for the faulty shares (length = xs.length)
+     * @param gf256     GF256 implementation
+     * @return secret
+     */
+    static byte[] recover(int[] xs, byte[][] values, int k, boolean[] faulty, GF256 gf256) {
+        int m = xs.length;
+        int[] baseXs = Arrays.copyOf(xs, k);
+        byte[][] base = Arrays.copyOf(values, k);
+        int[] secretWeights = GF256Polynomial.weights(baseXs, 0, gf256);
+        int[][] checkWeights = new int[m - k][];
+        for (int i = 0; i < m - k; i++) {
+            checkWeights[i] = GF256Polynomial.weights(baseXs, xs[k + i], gf256);
+        }
+
+        int size = values[0].length;
+        byte[] secret = new byte[size];
+        byte[][] expected = new byte[m - k][Math.min(BLOCK_SIZE, size)];
+        int[] ys = new int[m];
+        for (int off = 0; off < size; off += BLOCK_SIZE) {
+            int len = Math.min(BLOCK_SIZE, size - off);
+            GF256Polynomial.weightedSum(secretWeights, base, off, len, secret, off, gf256);
+            GF256Matrix.multiply(checkWeights, base, off, len, expected, 0, gf256);
+            for (int l = 0; l < len; l++) {
+                if (isConsistent(expected, values, k, off, l)) {
+                    continue;
+                }
+                for (int i = 0; i < m; i++) {
+                    ys[i] = values[i][off + l] & 0xFF;
+                }
+                secret[off + l] = (byte) decode(xs, ys, k, faulty, gf256);
+            }
+        }
+        return secret;
+    }
+
+    /**
+     * To decode one column.
+     *
+     * <p>
+     * Finds E(x) (monic, degree E) and Q(x) (degree E+K-1) such that
+     * Q(x_i) = y_i E(x_i) for all i. Then P(x) = Q(x) / E(x), and the shares
+     * where P(x_i) != y_i are faulty.
+     *
+     * @param xs        x-coordinates
+     * @param ys        y-coordinates
+     * @param k         K
+     * @param faulty    flags to set true for the faulty points
+     * @param gf256     GF256 implementation
+     * @return P(0)
+     */
+    static int decode(int[] xs, int[] ys, int k, boolean[] faulty, GF256 gf256) {
+        int m = xs.length;
+        int e = (m - k) / 2;
+        int unknowns = 2 * e + k;
+
+        /*
+         * q_0 + q_1 x_i + \dots + q_{e+k-1} x_i^{e+k-1}
+         *  + y_i (e_0 + e_1 x_i + \dots + e_{e-1} x_i^{e-1}) = y_i x_i^e
+         */
+        int[][] system = new int[m][unknowns + 1];
+        for (int i = 0; i < m; i++) {
+            int power = 1;
+            for (int j = 0; j < e + k; j++) {
+                system[i][j] = power;
+                if (j < e) {
+                    system[i][e + k + j] = gf256.mul(ys[i], power);
+                } else if (j == e) {
+                    system[i][unknowns] = gf256.mul(ys[i], power);
+                }
+                power = gf256.mul(power, xs[i]);
+            }
+        }
+        int[] solution = solve(system, unknowns, gf256);
+        if (solution == null) {
+            throw tooManyErrors();
+        }
+
+        int[] q = Arrays.copyOf(solution, e + k);
+        int[] errorLocator = Arrays.copyOfRange(solution, e + k, unknowns + 1);
+        errorLocator[e] = 1;
+        int[] p = divide(q, errorLocator, gf256);
+        if (p == null) {
+            throw tooManyErrors();
+        }
+
+        GF256Polynomial polynomial = new GF256Polynomial(p, gf256);
+        int errors = 0;
+        for (int i = 0; i < m; i++) {
+            if (polynomial.evaluate(xs[i]) != ys[i]) {
+                faulty[i] = true;
+                errors++;
+            }
+        }
+        if (errors > e) {
+            throw tooManyErrors();
+        }
+        return p[0];
+    }
+
+    /**
+     * To check that a column agrees with the polynomial through the first K shares.
+     */
+    private static boolean isConsistent(byte[][] expected, byte[][] values, int k, int off, int l) {
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i][l] != values[k + i][off + l]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * To solve an M x N linear system by Gauss-Jordan elimination, with free
+     * variables set to 0.
+     *
+     * @param system       augmented matrix (M x N+1, modified in place)
+     * @param unknowns     N
+     * @param gf256        GF256 implementation
+     * @return solution, or null if the system is inconsistent
+     */
+    private static int[] solve(int[][] system, int unknowns, GF256 gf256) {
+        int m = system.length;
+        int[] pivotColumns = new int[m];
+        int rank = 0;
+        for (int col = 0; col < unknowns && rank < m; col++) {
+            int pivot = rank;
+            while (pivot < m && system[pivot][col] == 0) {
+                pivot++;
+            }
+            if (pivot == m) {
+                continue;
+            }
+            int[] tmp = system[rank];
+            system[rank] = system[pivot];
+            system[pivot] = tmp;
+
+            int[] row = system[rank];
+            int inverse = gf256.div(1, row[col]);
+            for (int j = col; j <= unknowns; j++) {
+                row[j] = gf256.mul(row[j], inverse);
+            }
+            for (int i = 0; i < m; i++) {
+                int factor = system[i][col];
+                if (i == rank || factor == 0) {
+                    continue;
+                }
+                for (int j = col; j <= unknowns; j++) {
+                    system[i][j] = gf256.sub(system[i][j], gf256.mul(factor, row[j]));
+                }
+            }
+            pivotColumns[rank++] = col;
+        }
+        for (int i = rank; i < m; i++) {
+            if (system[i][unknowns] != 0) {
+                return null;
+            }
+        }
+
+        int[] ret = new int[unknowns];
+        for (int i = 0; i < rank; i++) {
+            ret[pivotColumns[i]] = system[i][unknowns];
+        }
+        return ret;
+    }
+
+    /**
+     * To divide polynomials.
+     *
+     * @param dividend    coefficients of dividend
+     * @param divisor     coefficients of monic divisor
+     * @param gf256       GF256 implementation
+     * @return coefficients of quotient, or null if the remainder is not 0
+     */
+    private static int[] divide(int[] dividend, int[] divisor, GF256 gf256) {
+        int degree = divisor.length - 1;
+        int[] remainder = dividend.clone();
+        int[] quotient = new int[dividend.length - degree];
+        for (int i = quotient.length - 1; i >= 0; i--) {
+            int c = remainder[i + degree];
+            quotient[i] = c;
+            for (int j = 0; j <= degree; j++) {
+                remainder[i + j] = gf256.sub(remainder[i + j], gf256.mul(c, divisor[j]));
+            }
+        }
+        for (int i = 0; i < degree; i++) {
+            if (remainder[i] != 0) {
+                return null;
+            }
+        }
+        return quotient;
+    }
+
+    private static IllegalArgumentException tooManyErrors() {
+        return new IllegalArgumentException("shares should have (m-k)/2 or less faulty shares");
+    }
+
+}
@@ -0,0 +1,254 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Helpers to process secrets and shares block by block.
+ */
+final class Blocks {
+
+    /**
+     * number of secret bytes processed at once (small enough to stay in cache)
+     */
+    static final int BLOCK_SIZE = 4096;
+
+    /**
+     * number of bytes mapped at once for all files on file-to-file split/combine
+     */
+    static final int MAP_SIZE = 256 * 1024 * 1024;
+
+    /**
+     * staging blocks per thread to process buffers without arrays (e.g. direct buffers)
+     */
+    private static final ThreadLocal<byte[][]> STAGING = ThreadLocal.withInitial(() -> new byte[0][]);
+
+    /**
+     * unmapper of mapped buffers (null if unsupported, then they are unmapped on GC)
+     */
+    private static final Unmapper UNMAPPER = unmapper();
+
+    private Blocks() {
+        // make its constructor private
+    }
+
+    /**
+     * To get the number of bytes mapped at once per file on file-to-file
+     * split/combine.
+     *
+     * @param files    number of files
+     * @return multiple of block size
+     */
+    static int mapWindowSize(int files) {
+        return Math.max(1, MAP_SIZE / files / BLOCK_SIZE) * BLOCK_SIZE;
+    }
+
+    /**
+     * To unmap buffers right away.
+     *
+     * <p>
+     * A mapped buffer is otherwise unmapped only when it is garbage collected,
+     * so many windows of a large file could stay mapped at once. The buffers
+     * (and views of them) should not be used any more.
+     *
+     * @param buffers    mapped buffers (elements are nullable)
+     */
+    static void unmap(MappedByteBuffer[] buffers) {
+        for (int i = 0; i < buffers.length; i++) {
+            MappedByteBuffer buffer = buffers[i];
+            buffers[i] = null;
+            if (buffer != null && UNMAPPER != null) {
+                try {
+                    UNMAPPER.unmap(buffer);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    // left to GC
+                }
+            }
+        }
+    }
+
+    /**
+     * To get staging blocks of the current thread.
+     *
+     * <p>
+     * Buffers without arrays are copied through the blocks in bulk, so that they
+     * are processed with the byte[] kernels of GF256. The blocks are shared by
+     * all callers on the thread, so a caller should not call another one while
+     * it uses them, and should {@link #clear(byte[][])} them before returning,
+     * as they may hold secret bytes.
+     *
+     * @param rows    number of blocks
+     * @return rows or more blocks of {@link #BLOCK_SIZE} bytes
+     */
+    static byte[][] staging(int rows) {
+        byte[][] blocks = STAGING.get();
+        if (blocks.length < rows) {
+            int from = blocks.length;
+            blocks = Arrays.copyOf(blocks, rows);
+            for (int i = from; i < rows; i++) {
+                blocks[i] = new byte[BLOCK_SIZE];
+            }
+            STAGING.set(blocks);
+        }
+        return blocks;
+    }
+
+    /**
+     * To multiply (and accumulate) the remaining bytes of a buffer by a constant
+     * through the staging blocks.
+     *
+     * @param gf256    GF256 implementation
+     * @param src      multiplicands (from position to limit)
+     * @param c        multiplier (0-255)
+     * @param dst      buffer to write (or accumulate) products (from position)
+     * @param add      whether to accumulate products on dst
+     */
+    static void mulRegion(GF256 gf256, ByteBuffer src, int c, ByteBuffer dst, boolean add) {
+        byte[][] blocks = staging(2);
+        byte[] x = blocks[0];
+        byte[] y = blocks[1];
+        ByteBuffer in = src.duplicate();
+        ByteBuffer acc = dst.duplicate();
+        ByteBuffer out = dst.duplicate();
+        int len = src.remaining();
+        try {
+            for (int pos = 0; pos < len; pos += BLOCK_SIZE) {
+                int blockLen = Math.min(BLOCK_SIZE, len - pos);
+                in.get(x, 0, blockLen);
+                if (add) {
+                    acc.get(y, 0, blockLen);
+                    gf256.mulAddRegion(x, 0, c, y, 0, blockLen);
+                } else {
+                    gf256.mulRegion(x, 0, c, y, 0, blockLen);
+                }
+                out.put(y, 0, blockLen);
+            }
+        } finally {
+            clear(blocks);
+        }
+    }
+
+    /**
+     * To fill blocks with zeros.
+     *
+     * @param blocks    blocks (nullable)
+     */
+    static void clear(byte[][] blocks) {
+        if (blocks == null) {
+            return;
+        }
+        for (byte[] block : blocks) {
+            Arrays.fill(block, (byte) 0);
+        }
+    }
+
+    /**
+     * To close channels, keeping the first exception.
+     *
+     * @param first     channel (nullable)
+     * @param others    channels (elements are nullable)
+     * @throws IOException if an I/O error occurs
+     */
+    static void closeAll(Closeable first, Closeable[] others) throws IOException {
+        IOException ex = null;
+        List<Closeable> channels = new ArrayList<>(Arrays.asList(others));
+        channels.add(0, first);
+        for (Closeable c : channels) {
+            if (c == null) {
+                continue;
+            }
+            try {
+                c.close();
+            } catch (IOException e) {
+                if (ex == null) {
+                    ex = e;
+                }
+            }
+        }
+        if (ex != null) {
+            throw ex;
+        }
+    }
+
+    /**
+     * To read bytes until the buffer is full or the stream ends.
+     *
+     * @param in        input stream
+     * @param buffer    buffer
+     * @return number of bytes read (0 at the end of stream)
+     * @throws IOException if an I/O error occurs
+     */
+    static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int len = 0;
+        while (len < buffer.length) {
+            int read = in.read(buffer, len, buffer.length - len);
+            if (read < 0) {
+                break;
+            }
+            len += read;
+        }
+        return len;
+    }
+
+    /**
+     * To get unmapper of the running JVM.
+     *
+     * <p>
+     * Java 9+ unmaps with sun.misc.Unsafe#invokeCleaner, and Java 8 with the
+     * cleaner of the buffer.
+     *
+     * @return unmapper (null if unsupported)
+     */
+    private static Unmapper unmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            return buffer -> invokeCleaner.invoke(unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 8
+        }
+        try {
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> clean.invoke(cleaner.invoke(buffer));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Unmapper of mapped buffers.
+     */
+    private interface Unmapper {
+
+        void unmap(MappedByteBuffer buffer) throws ReflectiveOperationException;
+
+    }
+
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+/**
+ * Source of random polynomial coefficients.
+ *
+ * <p>
+ * Implementations should be cryptographically secure and thread-safe, since a
+ * source may be shared among threads (e.g. on parallel split).
+ *
+ * @since 1.1.0
+ */
+public interface CoefficientSource {
+
+    /**
+     * To fill bytes with random coefficients (0-255).
+     *
+     * @param coefficients    bytes to be filled
+     */
+    void nextCoefficients(byte[] coefficients);
+
+}
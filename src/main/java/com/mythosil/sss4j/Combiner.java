@@ -0,0 +1,489 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import com.mythosil.sss4j.Instrumentation.Operation;
+import com.mythosil.sss4j.Instrumentation.Phase;
+import com.mythosil.sss4j.impl.GF256Factory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.mythosil.sss4j.Blocks.BLOCK_SIZE;
+import static com.mythosil.sss4j.Blocks.closeAll;
+import static com.mythosil.sss4j.Blocks.mapWindowSize;
+import static com.mythosil.sss4j.Blocks.readFully;
+import static com.mythosil.sss4j.Blocks.unmap;
+
+/**
+ * Combiner of shares for a fixed set of share indices.
+ *
+ * <p>
+ * The Lagrange weights at x=0 depend only on the indices of shares, so they are
+ * computed once on {@link #forIndices(int[], GF256)}. An instance is immutable,
+ * thread-safe and meant to be reused for every set of shares with the same
+ * indices (in any order).
+ *
+ * @since 1.1.0
+ */
+public final class Combiner {
+
+    private final int[] indices;
+    private final GF256 gf256;
+    private final int[] weights;
+
+    /**
+     * positions[index] is the position of index in indices plus 1 (0 if absent)
+     */
+    private final int[] positions;
+
+    private Combiner(int[] indices, GF256 gf256) {
+        this.indices = indices;
+        this.gf256 = gf256;
+        this.weights = GF256Polynomial.weights(indices, 0, gf256);
+        this.positions = new int[256];
+        for (int j = 0; j < indices.length; j++) {
+            positions[indices[j]] = j + 1;
+        }
+    }
+
+    /**
+     * To get combiner on the fastest GF256 implementation available.
+     *
+     * @param indices    indices of shares
+     * @return combiner
+     */
+    public static Combiner forIndices(int... indices) {
+        return forIndices(indices, GF256Factory.getFastest());
+    }
+
+    /**
+     * To get combiner.
+     *
+     * @param indices    indices of shares (1-255, distinct)
+     * @param gf256      GF256 implementation (should be thread-safe)
+     * @return combiner
+     */
+    public static Combiner forIndices(int[] indices, GF256 gf256) {
+        // validate combine parameters
+        if (indices == null) {
+            throw new IllegalArgumentException("indices should not be null");
+        } else if (indices.length == 0) {
+            throw new IllegalArgumentException("indices should not be empty");
+        } else if (gf256 == null) {
+            throw new IllegalArgumentException("gf256 should not be null");
+        }
+        boolean[] used = new boolean[256];
+        for (int index : indices) {
+            if (index <= 0) {
+                throw new IllegalArgumentException("index should be larger than 0");
+            } else if (index > 255) {
+                throw new IllegalArgumentException("index should be smaller than 256");
+            } else if (used[index]) {
+                throw new IllegalArgumentException("indices should be distinct");
+            }
+            used[index] = true;
+        }
+        return new Combiner(indices.clone(), gf256);
+    }
+
+    /**
+     * To get indices of shares.
+     *
+     * @return indices of shares
+     */
+    public int[] getIndices() {
+        return indices.clone();
+    }
+
+    /**
+     * To combine shares.
+     *
+     * @param shares    shares (indices should be the ones of this combiner)
+     * @return secret (binary representation)
+     */
+    public byte[] combine(List<Share> shares) {
+        Probe probe = Probe.start(Operation.COMBINE);
+        byte[] secret = combine(shares, probe);
+        probe.end(secret.length);
+        return secret;
+    }
+
+    /**
+     * To combine shares measured by the given probe.
+     *
+     * @param shares    shares (indices should be the ones of this combiner)
+     * @param probe     probe (not ended)
+     * @return secret (binary representation)
+     */
+    byte[] combine(List<Share> shares, Probe probe) {
+        byte[] secret = new byte[validate(shares)];
+        probe.lap(Phase.VALIDATION);
+        combineShares(shares, secret, 0, secret.length);
+        probe.lap(Phase.INTERPOLATION);
+        return secret;
+    }
+
+    /**
+     * To combine shares into a buffer owned by the caller.
+     *
+     * <p>
+     * The secret is written to {@code dst} from {@code off}. No buffer is allocated
+     * on the way, so the shares and the buffer can be pooled by the caller.
+     *
+     * @param shares    shares (indices should be the ones of this combiner)
+     * @param dst       buffer to write secret
+     * @param off       offset in dst
+     * @return length of secret
+     */
+    public int combineInto(List<Share> shares, byte[] dst, int off) {
+        Probe probe = Probe.start(Operation.COMBINE);
+        int secretLength = validate(shares);
+        if (dst == null) {
+            throw new IllegalArgumentException("dst should not be null");
+        } else if (off < 0 || off > dst.length - secretLength) {
+            throw new IllegalArgumentException("dst should have enough bytes");
+        }
+        probe.lap(Phase.VALIDATION);
+
+        combineShares(shares, dst, off, secretLength);
+        probe.lap(Phase.INTERPOLATION);
+        probe.end(secretLength);
+        return secretLength;
+    }
+
+    /**
+     * To combine validated shares block by block.
+     *
+     * @param shares          shares
+     * @param dst             buffer to write secret
+     * @param off             offset in dst
+     * @param secretLength    length of secret
+     */
+    private void combineShares(List<Share> shares, byte[] dst, int off, int secretLength) {
+        int size = shares.size();
+        for (int pos = 0; pos < secretLength; pos += BLOCK_SIZE) {
+            int len = Math.min(BLOCK_SIZE, secretLength - pos);
+            for (int j = 0; j < size; j++) {
+                Share share = shares.get(j);
+                int weight = weights[positions[share.getIndex()] - 1];
+                if (j == 0) {
+                    gf256.mulRegion(share.getValue(), pos, weight, dst, off + pos, len);
+                } else {
+                    gf256.mulAddRegion(share.getValue(), pos, weight, dst, off + pos, len);
+                }
+            }
+        }
+    }
+
+    /**
+     * To combine share values on buffers into a buffer owned by the caller.
+     *
+     * <p>
+     * {@code values[j]} is the value of the share whose index is the j-th one of
+     * {@link #getIndices()}. The remaining bytes of the values are combined and
+     * written to {@code dst} from its current position. The positions of all
+     * buffers are not changed. Buffers may be direct (e.g. memory-mapped); only
+     * a view of each buffer is allocated per call.
+     *
+     * @param values    values of shares (from position to limit, in the order of indices)
+     * @param dst       buffer to write secret (from position)
+     * @return length of secret
+     */
+    public int combineInto(ByteBuffer[] values, ByteBuffer dst) {
+        Probe probe = Probe.start(Operation.COMBINE);
+        if (values == null) {
+            throw new IllegalArgumentException("values should not be null");
+        } else if (values.length != indices.length) {
+            throw new IllegalArgumentException("values should have the same number of elements as indices");
+        } else if (dst == null) {
+            throw new IllegalArgumentException("dst should not be null");
+        }
+        int secretLength = values[0] == null ? 0 : values[0].remaining();
+        for (ByteBuffer value : values) {
+            if (value == null || value.remaining() != secretLength) {
+                throw new IllegalArgumentException("shares should have the same length");
+            }
+        }
+        if (dst.remaining() < secretLength) {
+            throw new IllegalArgumentException("dst should have enough remaining bytes");
+        }
+        probe.lap(Phase.VALIDATION);
+
+        combineBuffers(values, dst, secretLength);
+        probe.lap(Phase.INTERPOLATION);
+        probe.end(secretLength);
+        return secretLength;
+    }
+
+    /**
+     * To combine validated share values on buffers block by block.
+     *
+     * @param values          values of shares (from position, in the order of indices)
+     * @param dst             buffer to write secret (from position)
+     * @param secretLength    length of secret
+     */
+    private void combineBuffers(ByteBuffer[] values, ByteBuffer dst, int secretLength) {
+        // blocks are copied in bulk to the heap and combined with the byte[] kernels
+        byte[][] blocks = Blocks.staging(values.length + 1);
+        byte[] secretBlock = blocks[values.length];
+        ByteBuffer[] ins = new ByteBuffer[values.length];
+        for (int j = 0; j < values.length; j++) {
+            ins[j] = values[j].duplicate();
+        }
+        ByteBuffer out = dst.duplicate();
+        try {
+            for (int pos = 0; pos < secretLength; pos += BLOCK_SIZE) {
+                int len = Math.min(BLOCK_SIZE, secretLength - pos);
+                for (int j = 0; j < ins.length; j++) {
+                    ins[j].get(blocks[j], 0, len);
+                }
+                gf256.mulRegion(blocks[0], 0, weights[0], secretBlock, 0, len);
+                for (int j = 1; j < ins.length; j++) {
+                    gf256.mulAddRegion(blocks[j], 0, weights[j], secretBlock, 0, len);
+                }
+                out.put(secretBlock, 0, len);
+            }
+        } finally {
+            // the staging blocks are kept by the thread, so no secret bytes are left in them
+            Blocks.clear(blocks);
+        }
+    }
+
+    /**
+     * To combine share streams.
+     *
+     * <p>
+     * The share streams are read in lockstep chunks, so memory usage is bounded
+     * by the chunk size times the number of shares. Streams are neither flushed
+     * nor closed.
+     *
+     * @param shares    streams of shares (key: index of share)
+     * @param secret    stream to write secret
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the share streams have different lengths
+     */
+    public void combine(Map<Integer, ? extends InputStream> shares, OutputStream secret) throws IOException {
+        Probe probe = Probe.start(Operation.COMBINE);
+        if (shares == null) {
+            throw new IllegalArgumentException("shares should not be null");
+        } else if (secret == null) {
+            throw new IllegalArgumentException("secret should not be null");
+        }
+        InputStream[] ins = new InputStream[indices.length];
+        for (Map.Entry<Integer, ? extends InputStream> e : shares.entrySet()) {
+            ins[position(e.getKey(), shares.size())] = e.getValue();
+        }
+        requireAll(ins);
+        probe.lap(Phase.VALIDATION);
+
+        byte[][] shareChunks = new byte[ins.length][BLOCK_SIZE];
+        byte[] chunk = new byte[BLOCK_SIZE];
+        long total = 0;
+        while (true) {
+            int len = readFully(ins[0], shareChunks[0]);
+            for (int j = 1; j < ins.length; j++) {
+                if (readFully(ins[j], shareChunks[j]) != len) {
+                    throw new IllegalArgumentException("shares should have the same length");
+                }
+            }
+            if (len == 0) {
+                break;
+            }
+            probe.skip();
+            GF256Polynomial.weightedSum(weights, shareChunks, 0, len, chunk, 0, gf256);
+            probe.lap(Phase.INTERPOLATION);
+            secret.write(chunk, 0, len);
+            total += len;
+        }
+        probe.end(total);
+    }
+
+    /**
+     * To combine share files.
+     *
+     * <p>
+     * The share files and the secret file are memory-mapped window by window,
+     * so files larger than 2GB can be handled. Each window is combined through
+     * the per-thread staging blocks of {@link Blocks#BLOCK_SIZE} bytes and
+     * unmapped before the next one is mapped, so neither the heap used nor the
+     * mapped size (bounded by {@link Blocks#MAP_SIZE}) grows with the files. The
+     * secret file is forced to the storage once at the end. An existing secret
+     * file is overwritten.
+     *
+     * @param shares    paths of shares (key: index of share)
+     * @param secret    path to write secret
+     * @throws IOException if an I/O error occurs
+     */
+    public void combine(Map<Integer, Path> shares, Path secret) throws IOException {
+        combine(shares, secret, mapWindowSize(indices.length + 1));
+    }
+
+    /**
+     * To combine share files with the given window size.
+     *
+     * @param shares        paths of shares (key: index of share)
+     * @param secret        path to write secret
+     * @param windowSize    number of bytes mapped at once per file
+     * @throws IOException if an I/O error occurs
+     */
+    void combine(Map<Integer, Path> shares, Path secret, int windowSize) throws IOException {
+        Probe probe = Probe.start(Operation.COMBINE);
+        if (shares == null) {
+            throw new IllegalArgumentException("shares should not be null");
+        } else if (secret == null) {
+            throw new IllegalArgumentException("secret should not be null");
+        }
+        Path[] paths = new Path[indices.length];
+        for (Map.Entry<Integer, Path> e : shares.entrySet()) {
+            paths[position(e.getKey(), shares.size())] = e.getValue();
+        }
+        requireAll(paths);
+        probe.lap(Phase.VALIDATION);
+
+        int size = paths.length;
+        FileChannel[] ins = new FileChannel[size];
+        FileChannel out = null;
+        try {
+            for (int j = 0; j < size; j++) {
+                ins[j] = FileChannel.open(paths[j], StandardOpenOption.READ);
+            }
+            long secretSize = ins[0].size();
+            for (FileChannel in : ins) {
+                if (in.size() != secretSize) {
+                    throw new IllegalArgumentException("shares should have the same length");
+                }
+            }
+
+            out = FileChannel.open(secret, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            // windows[0, size) are the share windows, and windows[size] is the secret window
+            MappedByteBuffer[] windows = new MappedByteBuffer[size + 1];
+            ByteBuffer[] shareWindows = new ByteBuffer[size];
+            for (long pos = 0; pos < secretSize; pos += windowSize) {
+                int len = (int) Math.min(windowSize, secretSize - pos);
+                try {
+                    for (int j = 0; j < size; j++) {
+                        windows[j] = ins[j].map(FileChannel.MapMode.READ_ONLY, pos, len);
+                        shareWindows[j] = windows[j];
+                    }
+                    windows[size] = out.map(FileChannel.MapMode.READ_WRITE, pos, len);
+                    probe.skip();
+                    combineBuffers(shareWindows, windows[size], len);
+                    probe.lap(Phase.INTERPOLATION);
+                } finally {
+                    Arrays.fill(shareWindows, null);
+                    unmap(windows);
+                }
+            }
+            out.force(true);
+            probe.end(secretSize);
+        } finally {
+            closeAll(out, ins);
+        }
+    }
+
+    /**
+     * To validate shares for this combiner.
+     *
+     * @param shares    shares
+     * @return length of secret
+     */
+    private int validate(List<Share> shares) {
+        if (shares == null) {
+            throw new IllegalArgumentException("shares should not be null");
+        }
+        int size = shares.size();
+        // indices seen so far, 64 per word (kept in locals so that nothing is allocated)
+        long seen0 = 0;
+        long seen1 = 0;
+        long seen2 = 0;
+        long seen3 = 0;
+        int secretLength = 0;
+        for (int j = 0; j < size; j++) {
+            Share share = shares.get(j);
+            int index = share.getIndex();
+            position(index, size);
+            long bit = 1L << index;
+            long seen;
+            switch (index >>> 6) {
+                case 0:
+                    seen = seen0;
+                    seen0 |= bit;
+                    break;
+                case 1:
+                    seen = seen1;
+                    seen1 |= bit;
+                    break;
+                case 2:
+                    seen = seen2;
+                    seen2 |= bit;
+                    break;
+                default:
+                    seen = seen3;
+                    seen3 |= bit;
+                    break;
+            }
+            if ((seen & bit) != 0) {
+                throw new IllegalArgumentException("shares should have the indices of combiner");
+            }
+            if (j == 0) {
+                secretLength = share.getValue().length;
+            } else if (share.getValue().length != secretLength) {
+                throw new IllegalArgumentException("shares should have the same length");
+            }
+        }
+        return secretLength;
+    }
+
+    /**
+     * To get the position of index in indices of this combiner.
+     *
+     * @param index    index of share
+     * @param size     number of shares given
+     * @return position
+     */
+    private int position(int index, int size) {
+        if (size != indices.length || index <= 0 || index > 255 || positions[index] == 0) {
+            throw new IllegalArgumentException("shares should have the indices of combiner");
+        }
+        return positions[index] - 1;
+    }
+
+    /**
+     * To make sure that every index of this combiner has a share (no duplicates).
+     *
+     * @param slots    shares at positions of indices
+     */
+    private static void requireAll(Object[] slots) {
+        for (Object slot : slots) {
+            if (slot == null) {
+                throw new IllegalArgumentException("shares should have the indices of combiner");
+            }
+        }
+    }
+
+}
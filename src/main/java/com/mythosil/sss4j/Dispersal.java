@@ -0,0 +1,196 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import com.mythosil.sss4j.impl.GF256Factory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mythosil.sss4j.Blocks.BLOCK_SIZE;
+
+/**
+ * Information Dispersal Algorithm (Rabin) on GF(2^8).
+ *
+ * <p>
+ * Data is dispersed into N fragments of ceil((L+4)/K) bytes each, and any K
+ * of them recover the data. Unlike {@link Splitter}, fragments reveal part of
+ * the data, so this is meant for data which is already encrypted or not
+ * secret.
+ *
+ * <p>
+ * The data (prefixed with its 4-byte length and zero-padded) is cut into K
+ * rows, and the fragment whose index is x is the value at x of the polynomials
+ * which have the rows as coefficients, i.e. the product of the Vandermonde
+ * matrix of the indices and the rows. Recovery multiplies K fragments by the
+ * inverse of their Vandermonde matrix.
+ *
+ * <p>
+ * An instance is immutable and thread-safe.
+ *
+ * @since 1.1.0
+ */
+public final class Dispersal {
+
+    private final int k;
+    private final int n;
+    private final GF256 gf256;
+
+    /**
+     * powers[x - 1][j] = x^j (1 &lt;= x &lt;= N, 0 &lt;= j &lt; K)
+     */
+    private final int[][] powers;
+
+    private Dispersal(int k, int n, GF256 gf256) {
+        this.k = k;
+        this.n = n;
+        this.gf256 = gf256;
+        int[] xs = new int[n];
+        for (int x = 1; x <= n; x++) {
+            xs[x - 1] = x;
+        }
+        this.powers = GF256Polynomial.powers(xs, k - 1, gf256);
+    }
+
+    /**
+     * To get dispersal on the fastest GF256 implementation available.
+     *
+     * @param k    K (number of fragments to recover data)
+     * @param n    N (number of fragments)
+     * @return dispersal
+     */
+    public static Dispersal of(int k, int n) {
+        return of(k, n, GF256Factory.getFastest());
+    }
+
+    /**
+     * To get dispersal.
+     *
+     * @param k        K (number of fragments to recover data)
+     * @param n        N (number of fragments)
+     * @param gf256    GF256 implementation (should be thread-safe)
+     * @return dispersal
+     */
+    public static Dispersal of(int k, int n, GF256 gf256) {
+        // validate dispersal parameters
+        if (n < 1 || n > 255) {
+            throw new IllegalArgumentException("n should be 1-255");
+        } else if (k < 1 || k > 255) {
+            throw new IllegalArgumentException("k should be 1-255");
+        } else if (k > n) {
+            throw new IllegalArgumentException("n should be larger than k");
+        } else if (gf256 == null) {
+            throw new IllegalArgumentException("gf256 should not be null");
+        }
+        return new Dispersal(k, n, gf256);
+    }
+
+    /**
+     * To get K.
+     *
+     * @return K
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * To get N.
+     *
+     * @return N
+     */
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * To get the size of each fragment.
+     *
+     * @param length    length of data
+     * @return size of fragment
+     */
+    public int fragmentSize(int length) {
+        return Padding.rowLength(length, k);
+    }
+
+    /**
+     * To disperse data.
+     *
+     * @param data    data (can be empty)
+     * @return N fragments (index of i-th fragment is i+1)
+     */
+    public List<Share> disperse(byte[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data should not be null");
+        }
+
+        byte[][] rows = Padding.pad(data, k);
+        int size = rows[0].length;
+        byte[][] fragments = new byte[n][size];
+        for (int off = 0; off < size; off += BLOCK_SIZE) {
+            int len = Math.min(BLOCK_SIZE, size - off);
+            GF256Polynomial.evaluate(powers, rows, off, len, fragments, off, gf256);
+        }
+
+        List<Share> ret = new ArrayList<>();
+        for (int x = 1; x <= n; x++) {
+            ret.add(new Share(x, fragments[x - 1]));
+        }
+        return ret;
+    }
+
+    /**
+     * To recover data from fragments.
+     *
+     * <p>
+     * The first K fragments are used, and the others are ignored.
+     *
+     * @param fragments    K or more fragments with distinct indices
+     * @return data
+     */
+    public byte[] recover(List<Share> fragments) {
+        // validate fragments
+        if (fragments == null) {
+            throw new IllegalArgumentException("fragments should not be null");
+        } else if (fragments.size() < k) {
+            throw new IllegalArgumentException("fragments should have k elements or more");
+        }
+        int[] xs = new int[k];
+        byte[][] values = new byte[k][];
+        for (int i = 0; i < k; i++) {
+            Share fragment = fragments.get(i);
+            xs[i] = fragment.getIndex();
+            values[i] = fragment.getValue();
+            if (xs[i] <= 0 || xs[i] > 255) {
+                throw new IllegalArgumentException("index should be 1-255");
+            } else if (values[i].length != values[0].length) {
+                throw new IllegalArgumentException("fragments should have the same length");
+            } else if (values[i].length < Padding.rowLength(0, k)) {
+                throw new IllegalArgumentException("fragments should not be truncated");
+            }
+        }
+
+        int[][] inverse = GF256Matrix.invertVandermonde(xs, gf256);
+        int size = values[0].length;
+        byte[][] rows = new byte[k][size];
+        for (int off = 0; off < size; off += BLOCK_SIZE) {
+            int len = Math.min(BLOCK_SIZE, size - off);
+            GF256Matrix.multiply(inverse, values, off, len, rows, off, gf256);
+        }
+        return Padding.unpad(rows);
+    }
+
+}
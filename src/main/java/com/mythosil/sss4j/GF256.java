@@ -15,6 +15,8 @@
  */
 package com.mythosil.sss4j;
 
+import java.nio.ByteBuffer;
+
 /**
  * GF(2^8) interface.
  *
@@ -58,4 +60,127 @@ public interface GF256 {
      */
     int div(int x, int y);
 
+    /**
+     * To multiply a region of bytes by a constant on GF256.
+     *
+     * <pre>
+     * dst[dstOff + i] = c * src[srcOff + i]  (0 &lt;= i &lt; len)
+     * </pre>
+     *
+     * <p>
+     * {@code src} and {@code dst} may be the same region.
+     *
+     * @param src       source bytes
+     * @param srcOff    offset of source bytes
+     * @param c         constant multiplier (0-255)
+     * @param dst       destination bytes
+     * @param dstOff    offset of destination bytes
+     * @param len       number of bytes
+     * @since 1.1.0
+     */
+    default void mulRegion(byte[] src, int srcOff, int c, byte[] dst, int dstOff, int len) {
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = (byte) mul(c, src[srcOff + i] & 0xFF);
+        }
+    }
+
+    /**
+     * To multiply a region of bytes by a constant and accumulate it on GF256.
+     *
+     * <pre>
+     * dst[dstOff + i] = dst[dstOff + i] + c * src[srcOff + i]  (0 &lt;= i &lt; len)
+     * </pre>
+     *
+     * @param src       source bytes
+     * @param srcOff    offset of source bytes
+     * @param c         constant multiplier (0-255)
+     * @param dst       destination bytes (accumulator)
+     * @param dstOff    offset of destination bytes
+     * @param len       number of bytes
+     * @since 1.1.0
+     */
+    default void mulAddRegion(byte[] src, int srcOff, int c, byte[] dst, int dstOff, int len) {
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = (byte) add(dst[dstOff + i] & 0xFF, mul(c, src[srcOff + i] & 0xFF));
+        }
+    }
+
+    /**
+     * To multiply whole bytes by a constant on GF256.
+     *
+     * @param src    source bytes
+     * @param c      constant multiplier (0-255)
+     * @param dst    destination bytes (length &gt;= src.length)
+     * @since 1.1.0
+     */
+    default void mulRegion(byte[] src, int c, byte[] dst) {
+        mulRegion(src, 0, c, dst, 0, src.length);
+    }
+
+    /**
+     * To multiply whole bytes by a constant and accumulate them on GF256.
+     *
+     * @param src    source bytes
+     * @param c      constant multiplier (0-255)
+     * @param dst    destination bytes (length &gt;= src.length)
+     * @since 1.1.0
+     */
+    default void mulAddRegion(byte[] src, int c, byte[] dst) {
+        mulAddRegion(src, 0, c, dst, 0, src.length);
+    }
+
+    /**
+     * To multiply the remaining bytes of a buffer by a constant on GF256.
+     *
+     * <p>
+     * {@code src.remaining()} bytes are processed from the current positions.
+     * The positions of both buffers are not changed. Buffers without arrays
+     * (e.g. direct buffers) are copied in bulk through blocks kept per thread
+     * and processed with {@link #mulRegion(byte[], int, int, byte[], int, int)}.
+     *
+     * @param src    source buffer
+     * @param c      constant multiplier (0-255)
+     * @param dst    destination buffer
+     * @since 1.1.0
+     */
+    default void mulRegion(ByteBuffer src, int c, ByteBuffer dst) {
+        int len = src.remaining();
+        if (dst.remaining() < len) {
+            throw new IllegalArgumentException("dst should have enough remaining bytes");
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            mulRegion(src.array(), src.arrayOffset() + src.position(), c,
+                    dst.array(), dst.arrayOffset() + dst.position(), len);
+            return;
+        }
+        Blocks.mulRegion(this, src, c, dst, false);
+    }
+
+    /**
+     * To multiply the remaining bytes of a buffer by a constant and accumulate them on GF256.
+     *
+     * <p>
+     * {@code src.remaining()} bytes are processed from the current positions.
+     * The positions of both buffers are not changed. Buffers without arrays
+     * are processed with {@link #mulAddRegion(byte[], int, int, byte[], int, int)}
+     * as in {@link #mulRegion(ByteBuffer, int, ByteBuffer)}.
+     *
+     * @param src    source buffer
+     * @param c      constant multiplier (0-255)
+     * @param dst    destination buffer (accumulator)
+     * @since 1.1.0
+     */
+    default void mulAddRegion(ByteBuffer src, int c, ByteBuffer dst) {
+        int len = src.remaining();
+        if (dst.remaining() < len) {
+            throw new IllegalArgumentException("dst should have enough remaining bytes");
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            mulAddRegion(src.array(), src.arrayOffset() + src.position(), c,
+                    dst.array(), dst.arrayOffset() + dst.position(), len);
+            return;
+        }
+        Blocks.mulRegion(this, src, c, dst, true);
+    }
+
 }
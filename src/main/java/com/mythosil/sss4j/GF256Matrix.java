@@ -15,7 +15,11 @@
  */
 package com.mythosil.sss4j;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Matrix on GF256.
@@ -29,13 +33,40 @@ import java.util.List;
  */
 public class GF256Matrix {
 
+    /**
+     * max number of cached Vandermonde inverses
+     */
+    private static final int VANDERMONDE_CACHE_SIZE = 64;
+
+    /**
+     * cache of Vandermonde inverses (LRU)
+     */
+    private static final Map<VandermondeKey, int[][]> VANDERMONDE_INVERSES = Collections.synchronizedMap(
+            new LinkedHashMap<VandermondeKey, int[][]>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<VandermondeKey, int[][]> eldest) {
+                    return size() > VANDERMONDE_CACHE_SIZE;
+                }
+            });
+
     private final GF256 gf256;
-    private final int[][] data;
+    private final int rowNum;
+    private final int colNum;
+
+    /**
+     * elements stored row by row in a flat array (element (i, j) is at rows[i] * colNum + j)
+     */
+    private final byte[] data;
+
+    /**
+     * physical row of each logical row (rows are swapped by permutation, not by copy)
+     */
+    private final int[] rows;
 
     /**
      * Constructor
      *
-     * @param data    raw data
+     * @param data    raw data (0-255)
      * @param gf256   GF256 implementation
      */
     public GF256Matrix(int[][] data, GF256 gf256) {
@@ -45,7 +76,22 @@ public class GF256Matrix {
             throw new IllegalArgumentException("matrix should be NxN+1 (N > 0)");
         }
         this.gf256 = gf256;
-        this.data = deepcopy(data);
+        this.rowNum = data.length;
+        this.colNum = data[0].length;
+        this.data = new byte[rowNum * colNum];
+        this.rows = identityPermutation(rowNum);
+        for (int i = 0; i < rowNum; i++) {
+            if (data[i].length != colNum) {
+                throw new IllegalArgumentException("matrix should be NxN+1 (N > 0)");
+            }
+            for (int j = 0; j < colNum; j++) {
+                int v = data[i][j];
+                if (v < 0 || v > 255) {
+                    throw new IllegalArgumentException("values should be 0-255");
+                }
+                this.data[i * colNum + j] = (byte) v;
+            }
+        }
     }
 
     /**
@@ -58,19 +104,33 @@ public class GF256Matrix {
         if (points == null || points.isEmpty()) {
             throw new IllegalArgumentException();
         }
-        int rowNum = points.size();
-        int colNum = rowNum + 1;
-        int[][] mat = new int[rowNum][colNum];
+        this.gf256 = gf256;
+        this.rowNum = points.size();
+        this.colNum = rowNum + 1;
+        this.data = new byte[rowNum * colNum];
+        this.rows = identityPermutation(rowNum);
         for (int i = 0; i < rowNum; i++) {
             Point p = points.get(i);
-            mat[i][colNum - 1] = p.getY();
-            mat[i][colNum - 2] = 1;
+            int row = i * colNum;
+            data[row + colNum - 1] = (byte) p.getY();
+            data[row + colNum - 2] = 1;
             for (int j = colNum - 3; j >= 0; j--) {
-                mat[i][j] = gf256.mul(mat[i][j + 1], p.getX());
+                data[row + j] = (byte) gf256.mul(data[row + j + 1] & 0xFF, p.getX());
             }
         }
-        this.gf256 = gf256;
-        this.data = mat;
+    }
+
+    /**
+     * Copy constructor
+     *
+     * @param m    matrix to be copied
+     */
+    private GF256Matrix(GF256Matrix m) {
+        this.gf256 = m.gf256;
+        this.rowNum = m.rowNum;
+        this.colNum = m.colNum;
+        this.data = m.data.clone();
+        this.rows = m.rows.clone();
     }
 
     /**
@@ -79,7 +139,7 @@ public class GF256Matrix {
      * @return num of rows
      */
     public int getNumberOfRows() {
-        return data.length;
+        return rowNum;
     }
 
     /**
@@ -88,16 +148,20 @@ public class GF256Matrix {
      * @return num of columns
      */
     public int getNumberOfColumns() {
-        return data[0].length;
+        return colNum;
     }
 
     /**
      * To get raw data.
      *
-     * @return raw data
+     * @return raw data (copy)
      */
     public int[][] getData() {
-        return data;
+        int[][] ret = new int[rowNum][];
+        for (int i = 0; i < rowNum; i++) {
+            ret[i] = getRow(i);
+        }
+        return ret;
     }
 
     /**
@@ -107,13 +171,14 @@ public class GF256Matrix {
      * @return row data
      */
     public int[] getRow(int index) {
-        int rowNum = getNumberOfRows();
         if (index < 0 || index >= rowNum) {
             throw new IndexOutOfBoundsException();
         }
-        int colNum = getNumberOfColumns();
+        int row = rows[index] * colNum;
         int[] ret = new int[colNum];
-        System.arraycopy(data[index], 0, ret, 0, colNum);
+        for (int j = 0; j < colNum; j++) {
+            ret[j] = data[row + j] & 0xFF;
+        }
         return ret;
     }
 
@@ -124,14 +189,12 @@ public class GF256Matrix {
      * @return column data
      */
     public int[] getColumn(int index) {
-        int colNum = getNumberOfColumns();
         if (index < 0 || index >= colNum) {
             throw new IndexOutOfBoundsException();
         }
-        int rowNum = getNumberOfRows();
         int[] ret = new int[rowNum];
         for (int i = 0; i < rowNum; i++) {
-            ret[i] = data[i][index];
+            ret[i] = get(i, index);
         }
         return ret;
     }
@@ -148,12 +211,16 @@ public class GF256Matrix {
     /**
      * To solve (Gaussian elimination).
      *
+     * <p>
+     * The matrix is copied once and all steps run in place on the copy.
+     *
      * @return solved matrix
      */
     public GF256Matrix solve() {
-        GF256Matrix m = eliminateForward();
-        m = m.substituteBackward();
-        m = m.identify();
+        GF256Matrix m = new GF256Matrix(this);
+        m.eliminateForwardInPlace();
+        m.substituteBackwardInPlace();
+        m.identifyInPlace();
         return m;
     }
 
@@ -163,79 +230,102 @@ public class GF256Matrix {
      * @return forward-eliminated matrix
      */
     /* package */ GF256Matrix eliminateForward() {
-        int rowNum = getNumberOfRows();
-        int colNum = getNumberOfColumns();
-        int[][] mat = deepcopy(data);
+        GF256Matrix m = new GF256Matrix(this);
+        m.eliminateForwardInPlace();
+        return m;
+    }
+
+    /**
+     * Backward substitution.
+     *
+     * @return backward-substituted matrix
+     */
+    /* package */ GF256Matrix substituteBackward() {
+        GF256Matrix m = new GF256Matrix(this);
+        m.substituteBackwardInPlace();
+        return m;
+    }
+
+    /**
+     * 単位行列化
+     *
+     * @return 単位行列化された後の行列
+     */
+    /* package */ GF256Matrix identify() {
+        GF256Matrix m = new GF256Matrix(this);
+        m.identifyInPlace();
+        return m;
+    }
+
+    private void eliminateForwardInPlace() {
         for (int i = 0; i < rowNum - 1; i++) {
-            if (mat[i][i] == 0) {
+            if (get(i, i) == 0) {
                 int j;
                 for (j = i + 1; j < rowNum; j++) {
-                    if (mat[j][i] != 0) {
+                    if (get(j, i) != 0) {
                         break;
                     }
                 }
                 if (j >= rowNum) {
                     break;
                 }
-                int[] tmp = new int[colNum];
-                System.arraycopy(mat[i], 0, tmp, 0, colNum);
-                System.arraycopy(mat[j], 0, mat[i], 0, colNum);
-                System.arraycopy(tmp, 0, mat[j], 0, colNum);
+                int tmp = rows[i];
+                rows[i] = rows[j];
+                rows[j] = tmp;
             }
+            int pivot = get(i, i);
+            int pivotRow = rows[i] * colNum;
             for (int j = i + 1; j < rowNum; j++) {
-                int divider = gf256.div(mat[i][i], mat[j][i]);
-                for (int k = 0; k < colNum; k++) {
-                    mat[j][k] = gf256.sub(mat[j][k], gf256.div(mat[i][k], divider));
+                int target = get(j, i);
+                if (target == 0) {
+                    continue;
                 }
+                // row_j = row_j - (a_ji / a_ii) row_i
+                int factor = gf256.div(target, pivot);
+                gf256.mulAddRegion(data, pivotRow, factor, data, rows[j] * colNum, colNum);
             }
         }
-        return new GF256Matrix(mat, gf256);
     }
 
-    /**
-     * Backward substitution.
-     *
-     * @return backward-substituted matrix
-     */
-    /* package */ GF256Matrix substituteBackward() {
-        int rowNum = getNumberOfRows();
-        int colNum = getNumberOfColumns();
-        int[][] mat = deepcopy(data);
+    private void substituteBackwardInPlace() {
+        int k = colNum - 1;
         for (int i = rowNum - 1; i > 0; i--) {
+            int pivot = get(i, i);
             for (int j = i - 1; j >= 0; j--) {
-                int k = colNum - 1;
-                int divider = gf256.div(mat[i][i], mat[j][i]);
-                mat[j][i] = 0;
-                mat[j][k] = gf256.sub(mat[j][k], gf256.div(mat[i][k], divider));
+                int target = get(j, i);
+                if (target == 0) {
+                    continue;
+                }
+                // row_i has no other non-zero elements than a_ii and the last column here.
+                int factor = gf256.div(target, pivot);
+                set(j, i, 0);
+                set(j, k, gf256.sub(get(j, k), gf256.mul(get(i, k), factor)));
             }
         }
-        return new GF256Matrix(mat, gf256);
     }
 
-    /**
-     * 単位行列化
-     *
-     * @return 単位行列化された後の行列
-     */
-    /* package */ GF256Matrix identify() {
-        int rowNum = getNumberOfRows();
-        int colNum = getNumberOfColumns();
-        int[][] mat = deepcopy(data);
+    private void identifyInPlace() {
         for (int i = 0; i < rowNum; i++) {
-            int divider = mat[i][i];
-            for (int j = 0; j < colNum; j++) {
-                mat[i][j] = gf256.div(mat[i][j], divider);
-            }
+            int row = rows[i] * colNum;
+            int inverse = gf256.div(1, get(i, i));
+            gf256.mulRegion(data, row, inverse, data, row, colNum);
         }
-        return new GF256Matrix(mat, gf256);
+    }
+
+    private int get(int i, int j) {
+        return data[rows[i] * colNum + j] & 0xFF;
+    }
+
+    private void set(int i, int j, int v) {
+        data[rows[i] * colNum + j] = (byte) v;
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (int[] row : data) {
-            for (int v : row) {
-                sb.append(v).append(" ");
+        for (int i = 0; i < rowNum; i++) {
+            for (int j = 0; j < colNum; j++) {
+                sb.append(get(i, j)).append(" ");
             }
             sb.append("\n");
         }
@@ -244,15 +334,17 @@ public class GF256Matrix {
 
     @Override
     public boolean equals(Object obj) {
+        if (!(obj instanceof GF256Matrix)) {
+            return false;
+        }
         GF256Matrix m = (GF256Matrix) obj;
         if (getNumberOfRows() != m.getNumberOfRows() ||
                 getNumberOfColumns() != m.getNumberOfColumns()) {
             return false;
         }
-        int[][] mdata = m.getData();
-        for (int i = 0; i < getNumberOfRows(); i++) {
-            for (int j = 0; j < getNumberOfColumns(); j++) {
-                if (data[i][j] != mdata[i][j]) {
+        for (int i = 0; i < rowNum; i++) {
+            for (int j = 0; j < colNum; j++) {
+                if (get(i, j) != m.get(i, j)) {
                     return false;
                 }
             }
@@ -260,6 +352,132 @@ public class GF256Matrix {
         return true;
     }
 
+    @Override
+    public int hashCode() {
+        int ret = 1;
+        for (int i = 0; i < rowNum; i++) {
+            for (int j = 0; j < colNum; j++) {
+                ret = 31 * ret + get(i, j);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * To invert the Vandermonde matrix of x-coordinates.
+     *
+     * <p>
+     * V[i][j] = xs[i]^j, so that y = V a holds for the coefficients a (a_0 first)
+     * of the polynomial through the points (xs[i], y[i]). The returned inverse
+     * recovers the coefficients as a = V^{-1} y, and can be applied to many
+     * columns of y with {@link #multiply(int[][], byte[][], int, int, byte[][], int, GF256)}.
+     *
+     * <p>
+     * Inverses are cached by x-coordinates and GF256 implementation, so the
+     * elimination runs only once per index set.
+     *
+     * @param xs       x-coordinates (1-255, should be distinct)
+     * @param gf256    GF256 implementation
+     * @return inverse of the Vandermonde matrix (xs.length x xs.length)
+     * @since 1.1.0
+     */
+    public static int[][] invertVandermonde(int[] xs, GF256 gf256) {
+        if (xs == null || xs.length == 0) {
+            throw new IllegalArgumentException("xs should not be empty");
+        } else if (gf256 == null) {
+            throw new IllegalArgumentException("gf256 should not be null");
+        }
+        for (int x : xs) {
+            if (x <= 0 || x > 255) {
+                throw new IllegalArgumentException("xs should be 1-255");
+            }
+        }
+        VandermondeKey key = new VandermondeKey(xs, gf256);
+        int[][] inverse = VANDERMONDE_INVERSES.get(key);
+        if (inverse == null) {
+            inverse = computeVandermondeInverse(xs, gf256);
+            VANDERMONDE_INVERSES.put(key, inverse);
+        }
+        return deepcopy(inverse);
+    }
+
+    /**
+     * To multiply a matrix by columns of bytes.
+     *
+     * <pre>
+     * dst[i][dstOff + l] = \sum_j matrix[i][j] * columns[j][off + l]  (0 &lt;= l &lt; len)
+     * </pre>
+     *
+     * @param matrix     matrix (M x N)
+     * @param columns    N rows of bytes
+     * @param off        offset in columns
+     * @param len        number of bytes
+     * @param dst        M rows of bytes to write products
+     * @param dstOff     offset in dst
+     * @param gf256      GF256 implementation
+     * @since 1.1.0
+     */
+    public static void multiply(int[][] matrix, byte[][] columns, int off, int len,
+                                byte[][] dst, int dstOff, GF256 gf256) {
+        for (int i = 0; i < matrix.length; i++) {
+            int[] row = matrix[i];
+            gf256.mulRegion(columns[0], off, row[0], dst[i], dstOff, len);
+            for (int j = 1; j < row.length; j++) {
+                gf256.mulAddRegion(columns[j], off, row[j], dst[i], dstOff, len);
+            }
+        }
+    }
+
+    /**
+     * Gauss-Jordan elimination of [V | I] into [I | V^{-1}].
+     *
+     * @param xs       x-coordinates
+     * @param gf256    GF256 implementation
+     * @return inverse of the Vandermonde matrix
+     */
+    private static int[][] computeVandermondeInverse(int[] xs, GF256 gf256) {
+        int size = xs.length;
+        int[][] mat = new int[size][2 * size];
+        for (int i = 0; i < size; i++) {
+            mat[i][0] = 1;
+            for (int j = 1; j < size; j++) {
+                mat[i][j] = gf256.mul(mat[i][j - 1], xs[i]);
+            }
+            mat[i][size + i] = 1;
+        }
+        for (int i = 0; i < size; i++) {
+            int pivot = i;
+            while (pivot < size && mat[pivot][i] == 0) {
+                pivot++;
+            }
+            if (pivot >= size) {
+                throw new IllegalArgumentException("xs should be distinct");
+            }
+            int[] tmp = mat[i];
+            mat[i] = mat[pivot];
+            mat[pivot] = tmp;
+
+            int divider = mat[i][i];
+            for (int j = 0; j < 2 * size; j++) {
+                mat[i][j] = gf256.div(mat[i][j], divider);
+            }
+            for (int r = 0; r < size; r++) {
+                int factor = mat[r][i];
+                if (r == i || factor == 0) {
+                    continue;
+                }
+                for (int j = 0; j < 2 * size; j++) {
+                    mat[r][j] = gf256.sub(mat[r][j], gf256.mul(factor, mat[i][j]));
+                }
+            }
+        }
+        int[][] ret = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(mat[i], size, ret[i], 0, size);
+        }
+        return ret;
+    }
+
     private static int[][] deepcopy(int[][] data) {
         int rowNum = data.length;
         int colNum = data[0].length;
@@ -270,4 +488,41 @@ public class GF256Matrix {
         return ret;
     }
 
+    private static int[] identityPermutation(int size) {
+        int[] ret = new int[size];
+        for (int i = 0; i < size; i++) {
+            ret[i] = i;
+        }
+        return ret;
+    }
+
+    /**
+     * Cache key of Vandermonde inverses.
+     */
+    private static final class VandermondeKey {
+
+        private final int[] xs;
+        private final GF256 gf256;
+
+        VandermondeKey(int[] xs, GF256 gf256) {
+            this.xs = xs.clone();
+            this.gf256 = gf256;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof VandermondeKey)) {
+                return false;
+            }
+            VandermondeKey key = (VandermondeKey) obj;
+            return gf256 == key.gf256 && Arrays.equals(xs, key.xs);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(gf256) + Arrays.hashCode(xs);
+        }
+
+    }
+
 }
@@ -41,6 +41,21 @@ public class GF256Polynomial {
         this.coefficients = generate(degree, intercept, random);
     }
 
+    /**
+     * To initialize polynomial with degree and intercept.
+     *
+     * @param degree       degree
+     * @param intercept    intercept
+     * @param source       source of random coefficients
+     * @param gf256        GF256 implementation
+     */
+    public GF256Polynomial(int degree, int intercept, CoefficientSource source, GF256 gf256) {
+        byte[] bytes = new byte[degree];
+        source.nextCoefficients(bytes);
+        this.gf256 = gf256;
+        this.coefficients = generate(intercept, bytes);
+    }
+
     /**
      * To initialize polynomial with coefficients.
      *
@@ -117,24 +132,158 @@ public class GF256Polynomial {
      * @return y
      */
     public static int interpolate(List<Point> points, int x, GF256 gf256) {
+        int size = points.size();
+        int[] xs = new int[size];
+        int[] ys = new int[size];
+        for (int i = 0; i < size; i++) {
+            Point p = points.get(i);
+            xs[i] = p.getX();
+            ys[i] = p.getY();
+        }
+        return interpolate(xs, ys, x, gf256);
+    }
+
+    /**
+     * Lagrange interpolation on primitive arrays.
+     *
+     * @param xs       x-coordinates of points (should be distinct)
+     * @param ys       y-coordinates of points
+     * @param x        x
+     * @param gf256    GF256 implementation
+     * @return y
+     * @see #interpolate(List, int, GF256)
+     */
+    public static int interpolate(int[] xs, int[] ys, int x, GF256 gf256) {
+        int[] weights = weights(xs, x, gf256);
         int ret = 0;
-        for (int i = 0, size = points.size(); i < size; i++) {
-            Point pi = points.get(i);
-            int weight = 1;
+        for (int i = 0; i < xs.length; i++) {
+            ret = gf256.add(ret, gf256.mul(weights[i], ys[i]));
+        }
+        return ret;
+    }
+
+    /**
+     * Lagrange interpolation of many polynomials over the same x-coordinates.
+     *
+     * <p>
+     * ys[i][off + l] is the y-coordinate of the l-th polynomial at xs[i], and its
+     * value at x is written to dst[dstOff + l]. The weights are computed once for
+     * all polynomials.
+     *
+     * @param xs        x-coordinates of points (should be distinct)
+     * @param ys        rows of y-coordinates
+     * @param off       offset in ys
+     * @param len       number of polynomials
+     * @param x         x
+     * @param dst       buffer to write values
+     * @param dstOff    offset in dst
+     * @param gf256     GF256 implementation
+     */
+    public static void interpolate(int[] xs, byte[][] ys, int off, int len, int x,
+                                   byte[] dst, int dstOff, GF256 gf256) {
+        weightedSum(weights(xs, x, gf256), ys, off, len, dst, dstOff, gf256);
+    }
+
+    /**
+     * To sum rows multiplied by weights (e.g. {@link #weights(int[], int, GF256)}).
+     *
+     * <p>
+     * dst[dstOff + l] = w_0 ys[0][off + l] + w_1 ys[1][off + l] + \dots
+     *
+     * @param weights    weights of rows
+     * @param ys         rows
+     * @param off        offset in ys
+     * @param len        number of bytes
+     * @param dst        buffer to write sums
+     * @param dstOff     offset in dst
+     * @param gf256      GF256 implementation
+     */
+    public static void weightedSum(int[] weights, byte[][] ys, int off, int len,
+                                   byte[] dst, int dstOff, GF256 gf256) {
+        gf256.mulRegion(ys[0], off, weights[0], dst, dstOff, len);
+        for (int i = 1; i < ys.length; i++) {
+            gf256.mulAddRegion(ys[i], off, weights[i], dst, dstOff, len);
+        }
+    }
+
+    /**
+     * To compute Lagrange basis weights at x.
+     *
+     * <p>
+     * The weights depend only on the x-coordinates, so they can be computed once
+     * and reused for every set of y-coordinates over the same x-coordinates:
+     * p(x) = w_0 y_0 + w_1 y_1 + \dots + w_n y_n
+     *
+     * <pre>
+     * w_j =
+     *  \frac
+     *  { (x-x_0)(x-x_1) \dots (x-x_{j-1})(x-x_{j+1}) \dots (x-x_n) }
+     *  { (x_j-x_0)(x_j-x_1) \dots (x_j-x_{j-1})(x_j-x_{j+1}) \dots (x_j-x_n) }
+     * </pre>
+     *
+     * @param xs       x-coordinates of points (should be distinct)
+     * @param x        x
+     * @param gf256    GF256 implementation
+     * @return weights (length = xs.length)
+     */
+    public static int[] weights(int[] xs, int x, GF256 gf256) {
+        int size = xs.length;
+        int[] ret = new int[size];
+        for (int i = 0; i < size; i++) {
+            int numer = 1;
+            int denom = 1;
             for (int j = 0; j < size; j++) {
                 if (i != j) {
-                    Point pj = points.get(j);
-                    int numer = gf256.sub(x, pj.getX());
-                    int denom = gf256.sub(pi.getX(), pj.getX());
-                    int factor = gf256.div(numer, denom);
-                    weight = gf256.mul(weight, factor);
+                    numer = gf256.mul(numer, gf256.sub(x, xs[j]));
+                    denom = gf256.mul(denom, gf256.sub(xs[i], xs[j]));
                 }
             }
-            ret = gf256.add(ret, gf256.mul(weight, pi.getY()));
+            ret[i] = gf256.div(numer, denom);
+        }
+        return ret;
+    }
+
+    /**
+     * To compute powers of x-coordinates (Vandermonde matrix).
+     *
+     * @param xs        x-coordinates
+     * @param degree    max degree
+     * @param gf256     GF256 implementation
+     * @return powers[i][j] = xs[i]^j (0 &lt;= j &lt;= degree)
+     */
+    public static int[][] powers(int[] xs, int degree, GF256 gf256) {
+        int[][] ret = new int[xs.length][degree + 1];
+        for (int i = 0; i < xs.length; i++) {
+            ret[i][0] = 1;
+            for (int j = 1; j <= degree; j++) {
+                ret[i][j] = gf256.mul(ret[i][j - 1], xs[i]);
+            }
         }
         return ret;
     }
 
+    /**
+     * To evaluate many polynomials at many x-coordinates at once.
+     *
+     * <p>
+     * The l-th polynomial has coefficients[j][off + l] as the coefficient of x^j,
+     * and its value at the i-th x-coordinate is written to dst[i][dstOff + l].
+     * That is a matrix product of the power table (see {@link #powers(int[], int, GF256)})
+     * and the coefficients, computed row by row with the region operations of GF256.
+     *
+     * @param powers          power table of x-coordinates (M x degree+1)
+     * @param coefficients    degree+1 rows of coefficients
+     * @param off             offset in coefficients
+     * @param len             number of polynomials
+     * @param dst             M rows of bytes to write values
+     * @param dstOff          offset in dst
+     * @param gf256           GF256 implementation
+     */
+    public static void evaluate(int[][] powers, byte[][] coefficients, int off, int len,
+                                byte[][] dst, int dstOff, GF256 gf256) {
+        GF256Matrix.multiply(powers, coefficients, off, len, dst, dstOff, gf256);
+    }
+
     /**
      * To generate polynomial.
      *
@@ -144,10 +293,23 @@ public class GF256Polynomial {
      * @return coefficients (length = degree + 1)
      */
     private int[] generate(int degree, int intercept, Random random) {
-        int[] ret = new int[degree + 1];
+        byte[] bytes = new byte[degree];
+        random.nextBytes(bytes);
+        return generate(intercept, bytes);
+    }
+
+    /**
+     * To generate polynomial.
+     *
+     * @param intercept       intercept
+     * @param coefficients    coefficients except intercept (length = degree)
+     * @return coefficients (length = degree + 1)
+     */
+    private static int[] generate(int intercept, byte[] coefficients) {
+        int[] ret = new int[coefficients.length + 1];
         ret[0] = intercept;
-        for (int i = 1; i <= degree; i++) {
-            ret[i] = random.nextInt(256);
+        for (int i = 1; i < ret.length; i++) {
+            ret[i] = coefficients[i - 1] & 0xFF;
         }
         return ret;
     }
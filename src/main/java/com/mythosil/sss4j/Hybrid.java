@@ -0,0 +1,283 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import com.mythosil.sss4j.impl.GF256Factory;
+import com.mythosil.sss4j.impl.ThreadLocalCoefficientSource;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hybrid secret sharing: encrypt bulk data, split only the key.
+ *
+ * <p>
+ * The secret is encrypted once with AES-256-GCM under a random key, and only
+ * the 32-byte key is split with Shamir's scheme, so the work on GF256 does not
+ * depend on the size of the secret. Two layouts are available:
+ *
+ * <ul>
+ * <li>{@link #encrypt(byte[])}: the ciphertext is kept as is (e.g. stored once
+ * and referred to by every holder), and each share is a key share.</li>
+ * <li>{@link #split(byte[])}: the ciphertext is dispersed with {@link Dispersal},
+ * and each share is a key share followed by a ciphertext fragment, so a share
+ * is about 1/K of the secret.</li>
+ * </ul>
+ *
+ * <p>
+ * The ciphertext is the 12-byte IV followed by the encrypted secret and the
+ * 16-byte tag. An instance is immutable and thread-safe.
+ *
+ * @since 1.1.0
+ */
+public final class Hybrid {
+
+    /**
+     * size of AES key in bytes
+     */
+    public static final int KEY_SIZE = 32;
+
+    /**
+     * size of GCM IV in bytes
+     */
+    public static final int IV_SIZE = 12;
+
+    /**
+     * size of GCM tag in bits
+     */
+    private static final int TAG_LENGTH = 128;
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    /**
+     * source of keys and IVs (one generator per thread)
+     */
+    private static final CoefficientSource RANDOM = new ThreadLocalCoefficientSource();
+
+    private final int k;
+    private final GF256 gf256;
+    private final Splitter splitter;
+    private final Dispersal dispersal;
+
+    private Hybrid(int k, int n, GF256 gf256) {
+        this.k = k;
+        this.gf256 = gf256;
+        this.splitter = Splitter.of(k, n, gf256);
+        this.dispersal = Dispersal.of(k, n, gf256);
+    }
+
+    /**
+     * To get hybrid scheme on the fastest GF256 implementation available.
+     *
+     * @param k    K
+     * @param n    N
+     * @return hybrid scheme
+     */
+    public static Hybrid of(int k, int n) {
+        return of(k, n, GF256Factory.getFastest());
+    }
+
+    /**
+     * To get hybrid scheme.
+     *
+     * @param k        K
+     * @param n        N
+     * @param gf256    GF256 implementation (should be thread-safe)
+     * @return hybrid scheme
+     */
+    public static Hybrid of(int k, int n, GF256 gf256) {
+        // K and N are validated as for Splitter
+        return new Hybrid(k, n, gf256);
+    }
+
+    /**
+     * To encrypt secret and split its key.
+     *
+     * @param secret    binary representation of secret (can be empty)
+     * @return ciphertext and N key shares
+     */
+    public Encrypted encrypt(byte[] secret) {
+        if (secret == null) {
+            throw new IllegalArgumentException("secret should not be null");
+        }
+        byte[] key = new byte[KEY_SIZE];
+        RANDOM.nextCoefficients(key);
+        try {
+            return new Encrypted(seal(key, secret), splitter.split(key));
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * To decrypt ciphertext with the key combined from key shares.
+     *
+     * @param ciphertext    ciphertext made by {@link #encrypt(byte[])}
+     * @param keyShares     K or more key shares (the first K are used)
+     * @return secret
+     * @throws IllegalArgumentException if the ciphertext or the key shares are not authentic
+     */
+    public byte[] decrypt(byte[] ciphertext, List<Share> keyShares) {
+        if (ciphertext == null) {
+            throw new IllegalArgumentException("ciphertext should not be null");
+        }
+        byte[] key = combineKey(keyShares);
+        try {
+            return open(key, ciphertext);
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * To encrypt secret, split its key and disperse the ciphertext.
+     *
+     * @param secret    binary representation of secret (can be empty)
+     * @return N shares (key share followed by ciphertext fragment, index of i-th share is i+1)
+     */
+    public List<Share> split(byte[] secret) {
+        Encrypted encrypted = encrypt(secret);
+        List<Share> keyShares = encrypted.getKeyShares();
+        List<Share> fragments = dispersal.disperse(encrypted.getCiphertext());
+
+        List<Share> shares = new ArrayList<>();
+        for (int i = 0; i < keyShares.size(); i++) {
+            byte[] keyShare = keyShares.get(i).getValue();
+            byte[] fragment = fragments.get(i).getValue();
+            byte[] value = Arrays.copyOf(keyShare, KEY_SIZE + fragment.length);
+            System.arraycopy(fragment, 0, value, KEY_SIZE, fragment.length);
+            shares.add(new Share(i + 1, value, k));
+        }
+        return shares;
+    }
+
+    /**
+     * To combine shares made by {@link #split(byte[])}.
+     *
+     * @param shares    K or more shares (the first K are used)
+     * @return secret
+     * @throws IllegalArgumentException if the shares are not authentic
+     */
+    public byte[] combine(List<Share> shares) {
+        if (shares == null) {
+            throw new IllegalArgumentException("shares should not be null");
+        } else if (shares.size() < k) {
+            throw new IllegalArgumentException("shares should have k elements or more");
+        }
+        List<Share> keyShares = new ArrayList<>();
+        List<Share> fragments = new ArrayList<>();
+        try {
+            for (Share share : shares.subList(0, k)) {
+                byte[] value = share.getValue();
+                if (value.length <= KEY_SIZE) {
+                    throw new IllegalArgumentException("shares should have a key share and a fragment");
+                }
+                keyShares.add(new Share(share.getIndex(), Arrays.copyOf(value, KEY_SIZE)));
+                fragments.add(new Share(share.getIndex(), Arrays.copyOfRange(value, KEY_SIZE, value.length)));
+            }
+            return decrypt(dispersal.recover(fragments), keyShares);
+        } finally {
+            // the copies of the key shares are as sensitive as the key
+            for (Share keyShare : keyShares) {
+                Arrays.fill(keyShare.getValue(), (byte) 0);
+            }
+        }
+    }
+
+    private byte[] combineKey(List<Share> keyShares) {
+        if (keyShares == null) {
+            throw new IllegalArgumentException("keyShares should not be null");
+        } else if (keyShares.size() < k) {
+            throw new IllegalArgumentException("keyShares should have k elements or more");
+        }
+        byte[] key = Sss4j.combine(keyShares.subList(0, k), gf256);
+        if (key.length != KEY_SIZE) {
+            throw new IllegalArgumentException("keyShares should have " + KEY_SIZE + " bytes");
+        }
+        return key;
+    }
+
+    private byte[] seal(byte[] key, byte[] plaintext) {
+        byte[] iv = new byte[IV_SIZE];
+        RANDOM.nextCoefficients(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new GCMParameterSpec(TAG_LENGTH, iv));
+            byte[] ciphertext = new byte[IV_SIZE + cipher.getOutputSize(plaintext.length)];
+            System.arraycopy(iv, 0, ciphertext, 0, IV_SIZE);
+            int len = cipher.doFinal(plaintext, 0, plaintext.length, ciphertext, IV_SIZE);
+            return len == ciphertext.length - IV_SIZE ? ciphertext : Arrays.copyOf(ciphertext, IV_SIZE + len);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES-GCM is not available", e);
+        }
+    }
+
+    private byte[] open(byte[] key, byte[] ciphertext) {
+        if (ciphertext.length < IV_SIZE + TAG_LENGTH / 8) {
+            throw new IllegalArgumentException("ciphertext should have IV and tag");
+        }
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(key, "AES"),
+                    new GCMParameterSpec(TAG_LENGTH, ciphertext, 0, IV_SIZE));
+            return cipher.doFinal(ciphertext, IV_SIZE, ciphertext.length - IV_SIZE);
+        } catch (AEADBadTagException e) {
+            throw new IllegalArgumentException("ciphertext or key shares should be authentic", e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES-GCM is not available", e);
+        }
+    }
+
+    /**
+     * Ciphertext and key shares.
+     */
+    public static final class Encrypted {
+
+        private final byte[] ciphertext;
+        private final List<Share> keyShares;
+
+        Encrypted(byte[] ciphertext, List<Share> keyShares) {
+            this.ciphertext = ciphertext;
+            this.keyShares = keyShares;
+        }
+
+        /**
+         * To get ciphertext.
+         *
+         * @return IV, encrypted secret and tag
+         */
+        public byte[] getCiphertext() {
+            return ciphertext;
+        }
+
+        /**
+         * To get key shares.
+         *
+         * @return N key shares
+         */
+        public List<Share> getKeyShares() {
+            return keyShares;
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+/**
+ * Instrumentation of secret sharing operations.
+ *
+ * <p>
+ * Installed with {@link Sss4j#setInstrumentation(Instrumentation)}, it is called
+ * once per finished split, combine or issue with the time spent in each phase.
+ * Nothing is measured while no instrumentation is installed. Implementations
+ * should be thread-safe and return quickly.
+ *
+ * @since 1.1.0
+ */
+public interface Instrumentation {
+
+    /**
+     * Secret sharing operation.
+     */
+    enum Operation {
+        SPLIT,
+        COMBINE,
+        ISSUE
+    }
+
+    /**
+     * Phase of an operation.
+     */
+    enum Phase {
+        /** validation of parameters and shares */
+        VALIDATION,
+        /** drawing random coefficients */
+        RNG,
+        /** evaluation of polynomials (split) */
+        EVALUATION,
+        /** interpolation of shares (combine and issue) */
+        INTERPOLATION,
+        /** solving for Lagrange weights */
+        SOLVE
+    }
+
+    /**
+     * To be notified that an operation starts.
+     *
+     * <p>
+     * The returned context is passed to
+     * {@link #record(Object, Operation, long, long, long[])} on the same thread
+     * when the operation finishes, e.g. to measure the operation as a span. It
+     * is dropped if the operation fails.
+     *
+     * @param operation    operation
+     * @return context (nullable)
+     */
+    default Object begin(Operation operation) {
+        return null;
+    }
+
+    /**
+     * To record a finished operation begun with {@link #begin(Operation)}.
+     *
+     * <p>
+     * By default, the context is ignored and
+     * {@link #record(Operation, long, long, long[])} is called.
+     *
+     * @param context         context returned by {@link #begin(Operation)}
+     * @param operation       operation
+     * @param bytes           number of secret bytes processed
+     * @param elapsedNanos    elapsed time of the operation in nanoseconds
+     * @param phaseNanos      time of each phase in nanoseconds (index: {@link Phase#ordinal()}, read-only)
+     */
+    default void record(Object context, Operation operation, long bytes, long elapsedNanos, long[] phaseNanos) {
+        record(operation, bytes, elapsedNanos, phaseNanos);
+    }
+
+    /**
+     * To record a finished operation.
+     *
+     * <p>
+     * The time not in any phase (e.g. I/O of streams and files) is included
+     * only in elapsedNanos.
+     *
+     * @param operation       operation
+     * @param bytes           number of secret bytes processed
+     * @param elapsedNanos    elapsed time of the operation in nanoseconds
+     * @param phaseNanos      time of each phase in nanoseconds (index: {@link Phase#ordinal()}, read-only)
+     */
+    void record(Operation operation, long bytes, long elapsedNanos, long[] phaseNanos);
+
+}
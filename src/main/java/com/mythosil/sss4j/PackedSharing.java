@@ -0,0 +1,263 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import com.mythosil.sss4j.impl.GF256Factory;
+import com.mythosil.sss4j.impl.ThreadLocalCoefficientSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mythosil.sss4j.Blocks.BLOCK_SIZE;
+
+/**
+ * Packed (multi-secret) secret sharing (Franklin-Yung) on GF(2^8).
+ *
+ * <p>
+ * One polynomial of degree K-1 hides L secret bytes at once, so each share is
+ * about 1/L of the secret. Any K shares recover the secret and any K-L shares
+ * reveal nothing about it; shares in between (the reconstruction gap) may leak
+ * part of it. With L=1, this is Shamir's scheme with the secret at x=255.
+ *
+ * <p>
+ * The secret (prefixed with its 4-byte length and zero-padded) is cut into L
+ * rows. For each byte column, the polynomial takes the secret bytes at
+ * x = 255, 254, ..., 256-L and random bytes at x = 1, ..., K-L, and the share
+ * whose index is x is its value at x. Hence N should be at most 255-L.
+ *
+ * <p>
+ * An instance is immutable and thread-safe.
+ *
+ * @since 1.1.0
+ */
+public final class PackedSharing {
+
+    private static final CoefficientSource DEFAULT_COEFFICIENT_SOURCE = new ThreadLocalCoefficientSource();
+
+    private final int k;
+    private final int n;
+    private final int l;
+    private final GF256 gf256;
+    private final CoefficientSource source;
+
+    /**
+     * weights[x - 1] is the Lagrange weights at x of the points at
+     * (1, ..., K-L, 255, ..., 256-L)
+     */
+    private final int[][] weights;
+
+    private PackedSharing(int k, int n, int l, GF256 gf256, CoefficientSource source) {
+        this.k = k;
+        this.n = n;
+        this.l = l;
+        this.gf256 = gf256;
+        this.source = source;
+        int[] xs = new int[k];
+        for (int i = 0; i < k - l; i++) {
+            xs[i] = i + 1;
+        }
+        for (int j = 0; j < l; j++) {
+            xs[k - l + j] = secretX(j);
+        }
+        this.weights = new int[n][];
+        for (int x = 1; x <= n; x++) {
+            weights[x - 1] = GF256Polynomial.weights(xs, x, gf256);
+        }
+    }
+
+    /**
+     * To get packed sharing on the fastest GF256 implementation available.
+     *
+     * @param k    K (number of shares to recover secret)
+     * @param n    N (number of shares)
+     * @param l    L (number of secret bytes per share byte)
+     * @return packed sharing
+     */
+    public static PackedSharing of(int k, int n, int l) {
+        return of(k, n, l, GF256Factory.getFastest());
+    }
+
+    /**
+     * To get packed sharing.
+     *
+     * @param k        K (number of shares to recover secret)
+     * @param n        N (number of shares)
+     * @param l        L (number of secret bytes per share byte)
+     * @param gf256    GF256 implementation (should be thread-safe)
+     * @return packed sharing
+     */
+    public static PackedSharing of(int k, int n, int l, GF256 gf256) {
+        return of(k, n, l, gf256, DEFAULT_COEFFICIENT_SOURCE);
+    }
+
+    /**
+     * To get packed sharing with the given source of random bytes.
+     *
+     * @param k         K (number of shares to recover secret)
+     * @param n         N (number of shares)
+     * @param l         L (number of secret bytes per share byte)
+     * @param gf256     GF256 implementation (should be thread-safe)
+     * @param source    source of random bytes (should be thread-safe)
+     * @return packed sharing
+     */
+    public static PackedSharing of(int k, int n, int l, GF256 gf256, CoefficientSource source) {
+        // validate packed sharing parameters
+        if (l < 1 || l > 127) {
+            throw new IllegalArgumentException("l should be 1-127");
+        } else if (k <= l || k > 255) {
+            throw new IllegalArgumentException("k should be larger than l and smaller than 256");
+        } else if (k > n) {
+            throw new IllegalArgumentException("n should be larger than k");
+        } else if (n > 255 - l) {
+            throw new IllegalArgumentException("n should be smaller than 256-l");
+        } else if (gf256 == null) {
+            throw new IllegalArgumentException("gf256 should not be null");
+        } else if (source == null) {
+            throw new IllegalArgumentException("source should not be null");
+        }
+        return new PackedSharing(k, n, l, gf256, source);
+    }
+
+    /**
+     * To get K.
+     *
+     * @return K
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * To get N.
+     *
+     * @return N
+     */
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * To get L.
+     *
+     * @return L
+     */
+    public int getL() {
+        return l;
+    }
+
+    /**
+     * To get the size of each share.
+     *
+     * @param length    length of secret
+     * @return size of share
+     */
+    public int shareSize(int length) {
+        return Padding.rowLength(length, l);
+    }
+
+    /**
+     * To split secret.
+     *
+     * @param secret    binary representation of secret (can be empty)
+     * @return N shares (index of i-th share is i+1)
+     */
+    public List<Share> split(byte[] secret) {
+        if (secret == null) {
+            throw new IllegalArgumentException("secret should not be null");
+        }
+
+        // values at (1, ..., K-L) are random, and values at (255, ..., 256-L) are the secret
+        byte[][] rows = Padding.pad(secret, l);
+        int size = rows[0].length;
+        byte[][] values = new byte[k][];
+        for (int i = 0; i < k - l; i++) {
+            values[i] = new byte[size];
+            source.nextCoefficients(values[i]);
+        }
+        System.arraycopy(rows, 0, values, k - l, l);
+
+        byte[][] shareValues = new byte[n][size];
+        for (int off = 0; off < size; off += BLOCK_SIZE) {
+            int len = Math.min(BLOCK_SIZE, size - off);
+            GF256Matrix.multiply(weights, values, off, len, shareValues, off, gf256);
+        }
+
+        List<Share> ret = new ArrayList<>();
+        for (int x = 1; x <= n; x++) {
+            ret.add(new Share(x, shareValues[x - 1]));
+        }
+        return ret;
+    }
+
+    /**
+     * To combine shares.
+     *
+     * <p>
+     * The first K shares are used, and the others are ignored.
+     *
+     * @param shares    K or more shares with distinct indices
+     * @return secret
+     */
+    public byte[] combine(List<Share> shares) {
+        // validate shares
+        if (shares == null) {
+            throw new IllegalArgumentException("shares should not be null");
+        } else if (shares.size() < k) {
+            throw new IllegalArgumentException("shares should have k elements or more");
+        }
+        int[] xs = new int[k];
+        byte[][] values = new byte[k][];
+        boolean[] seen = new boolean[256];
+        for (int i = 0; i < k; i++) {
+            Share share = shares.get(i);
+            xs[i] = share.getIndex();
+            values[i] = share.getValue();
+            if (xs[i] <= 0 || xs[i] > n) {
+                throw new IllegalArgumentException("index should be 1-n");
+            } else if (seen[xs[i]]) {
+                throw new IllegalArgumentException("indices should be distinct");
+            } else if (values[i].length != values[0].length) {
+                throw new IllegalArgumentException("shares should have the same length");
+            } else if (values[i].length < Padding.rowLength(0, l)) {
+                throw new IllegalArgumentException("shares should not be truncated");
+            }
+            seen[xs[i]] = true;
+        }
+
+        int[][] secretWeights = new int[l][];
+        for (int j = 0; j < l; j++) {
+            secretWeights[j] = GF256Polynomial.weights(xs, secretX(j), gf256);
+        }
+        int size = values[0].length;
+        byte[][] rows = new byte[l][size];
+        for (int off = 0; off < size; off += BLOCK_SIZE) {
+            int len = Math.min(BLOCK_SIZE, size - off);
+            GF256Matrix.multiply(secretWeights, values, off, len, rows, off, gf256);
+        }
+        return Padding.unpad(rows);
+    }
+
+    /**
+     * To get the x-coordinate of the j-th secret row.
+     *
+     * @param j    row
+     * @return x-coordinate
+     */
+    private static int secretX(int j) {
+        return 255 - j;
+    }
+
+}
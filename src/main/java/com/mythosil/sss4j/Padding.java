@@ -0,0 +1,120 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+/**
+ * Padding of data into rows of the same length.
+ *
+ * <p>
+ * The data is prefixed with its length (4 bytes, big-endian), zero-padded and
+ * cut into rows, so that the data can be restored from the concatenation of
+ * the rows.
+ */
+final class Padding {
+
+    /**
+     * number of bytes of the length header
+     */
+    static final int HEADER_SIZE = 4;
+
+    private Padding() {
+        // make its constructor private
+    }
+
+    /**
+     * To get the length of each row.
+     *
+     * @param length    length of data
+     * @param rows      number of rows
+     * @return ceil((length + 4) / rows)
+     */
+    static int rowLength(int length, int rows) {
+        return (int) ((length + (long) HEADER_SIZE + rows - 1) / rows);
+    }
+
+    /**
+     * To pad data into rows.
+     *
+     * @param data    data
+     * @param rows    number of rows
+     * @return rows (rows x {@link #rowLength(int, int)})
+     */
+    static byte[][] pad(byte[] data, int rows) {
+        int rowLength = rowLength(data.length, rows);
+        byte[][] ret = new byte[rows][rowLength];
+        byte[] header = {
+                (byte) (data.length >>> 24), (byte) (data.length >>> 16),
+                (byte) (data.length >>> 8), (byte) data.length
+        };
+        copy(header, 0, ret, 0, HEADER_SIZE);
+        copy(data, 0, ret, HEADER_SIZE, data.length);
+        return ret;
+    }
+
+    /**
+     * To restore data from rows.
+     *
+     * @param rows    rows made by {@link #pad(byte[], int)}
+     * @return data
+     * @throws IllegalArgumentException if the length header is broken
+     */
+    static byte[] unpad(byte[][] rows) {
+        byte[] header = new byte[HEADER_SIZE];
+        copy(rows, 0, header, HEADER_SIZE);
+        int length = ((header[0] & 0xFF) << 24) | ((header[1] & 0xFF) << 16)
+                | ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+        if (length < 0 || length > (long) rows.length * rows[0].length - HEADER_SIZE) {
+            throw new IllegalArgumentException("rows should have a valid length header");
+        }
+        byte[] data = new byte[length];
+        copy(rows, HEADER_SIZE, data, length);
+        return data;
+    }
+
+    /**
+     * To copy bytes into the concatenation of rows.
+     */
+    private static void copy(byte[] src, int srcOff, byte[][] rows, int pos, int len) {
+        int rowLength = rows[0].length;
+        while (len > 0) {
+            int row = pos / rowLength;
+            int col = pos % rowLength;
+            int n = Math.min(len, rowLength - col);
+            System.arraycopy(src, srcOff, rows[row], col, n);
+            srcOff += n;
+            pos += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * To copy bytes from the concatenation of rows.
+     */
+    private static void copy(byte[][] rows, int pos, byte[] dst, int len) {
+        int rowLength = rows[0].length;
+        int dstOff = 0;
+        while (len > 0) {
+            int row = pos / rowLength;
+            int col = pos % rowLength;
+            int n = Math.min(len, rowLength - col);
+            System.arraycopy(rows[row], col, dst, dstOff, n);
+            dstOff += n;
+            pos += n;
+            len -= n;
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import com.mythosil.sss4j.Instrumentation.Operation;
+import com.mythosil.sss4j.Instrumentation.Phase;
+
+/**
+ * Stopwatch of an operation reported to {@link Instrumentation}.
+ *
+ * <p>
+ * {@link #start(Operation)} returns a shared disabled probe when no
+ * instrumentation is installed, so a disabled probe neither allocates nor
+ * reads the clock.
+ */
+final class Probe {
+
+    private static final int PHASES = Phase.values().length;
+
+    /**
+     * probe which measures nothing
+     */
+    static final Probe DISABLED = new Probe(null, null);
+
+    private final Instrumentation instrumentation;
+    private final Operation operation;
+    private final Object context;
+    private final long start;
+    private final long[] phaseNanos;
+    private long mark;
+
+    private Probe(Instrumentation instrumentation, Operation operation) {
+        this.instrumentation = instrumentation;
+        this.operation = operation;
+        if (instrumentation == null) {
+            this.context = null;
+            this.start = 0;
+            this.phaseNanos = null;
+        } else {
+            this.context = instrumentation.begin(operation);
+            this.start = System.nanoTime();
+            this.phaseNanos = new long[PHASES];
+        }
+        this.mark = start;
+    }
+
+    /**
+     * To start measuring an operation.
+     *
+     * @param operation    operation
+     * @return probe
+     */
+    static Probe start(Operation operation) {
+        Instrumentation instrumentation = Sss4j.getInstrumentation();
+        return instrumentation == null ? DISABLED : new Probe(instrumentation, operation);
+    }
+
+    /**
+     * To attribute the time since the last lap to a phase.
+     *
+     * @param phase    phase
+     */
+    void lap(Phase phase) {
+        if (instrumentation == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - mark;
+        mark = now;
+    }
+
+    /**
+     * To leave the time since the last lap out of any phase.
+     */
+    void skip() {
+        if (instrumentation == null) {
+            return;
+        }
+        mark = System.nanoTime();
+    }
+
+    /**
+     * To report the operation.
+     *
+     * @param bytes    number of secret bytes processed
+     */
+    void end(long bytes) {
+        if (instrumentation == null) {
+            return;
+        }
+        instrumentation.record(context, operation, bytes, System.nanoTime() - start, phaseNanos);
+    }
+
+}
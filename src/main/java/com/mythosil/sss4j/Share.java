@@ -24,10 +24,27 @@ public class Share {
 
     private final int index;
     private final byte[] value;
+    private final int threshold;
 
     public Share(int index, byte[] value) {
+        this(index, value, 0);
+    }
+
+    /**
+     * To initialize share with the threshold of its scheme.
+     *
+     * @param index        index of the share
+     * @param value        value of the share
+     * @param threshold    K (number of shares to recover secret), or 0 if unknown
+     * @since 1.1.0
+     */
+    public Share(int index, byte[] value, int threshold) {
+        if (threshold < 0 || threshold > 255) {
+            throw new IllegalArgumentException("threshold should be 0-255");
+        }
         this.index = index;
         this.value = value;
+        this.threshold = threshold;
     }
 
     /**
@@ -48,6 +65,16 @@ public class Share {
         return value;
     }
 
+    /**
+     * To get the threshold of the scheme which the share belongs to.
+     *
+     * @return K (number of shares to recover secret), or 0 if unknown
+     * @since 1.1.0
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder(index + ":");
@@ -0,0 +1,660 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import com.mythosil.sss4j.Instrumentation.Operation;
+import com.mythosil.sss4j.Instrumentation.Phase;
+import com.mythosil.sss4j.impl.GF256Factory;
+import com.mythosil.sss4j.impl.ThreadLocalCoefficientSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static com.mythosil.sss4j.Blocks.BLOCK_SIZE;
+import static com.mythosil.sss4j.Blocks.closeAll;
+import static com.mythosil.sss4j.Blocks.mapWindowSize;
+import static com.mythosil.sss4j.Blocks.readFully;
+import static com.mythosil.sss4j.Blocks.unmap;
+
+/**
+ * Splitter of secrets for a fixed (K,N).
+ *
+ * <p>
+ * The parameters are validated and the power table of the share indices is
+ * computed once on {@link #of(int, int, GF256, CoefficientSource)}, and scratch
+ * buffers are kept per thread, so an instance is immutable, thread-safe and
+ * meant to be reused for many secrets. The scratch buffers never hold secret
+ * bytes, and the random coefficients in them are cleared before returning.
+ *
+ * @since 1.1.0
+ */
+public final class Splitter {
+
+    /**
+     * lower bound of the number of secret bytes split at once
+     */
+    private static final int MIN_BLOCK_SIZE = 256;
+
+    /**
+     * number of bytes of coefficients and share values kept in cache on split
+     */
+    private static final int SPLIT_CACHE_SIZE = 256 * 1024;
+
+    /**
+     * default number of secret bytes split by a task on parallel split
+     */
+    static final int PARALLEL_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * scratch buffers per thread, shared by all splitters
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * default source of coefficients (one SecureRandom per thread)
+     */
+    private static final CoefficientSource DEFAULT_COEFFICIENT_SOURCE = new ThreadLocalCoefficientSource();
+
+    private final int k;
+    private final int n;
+    private final GF256 gf256;
+    private final CoefficientSource source;
+
+    /**
+     * powers[x - 1][j] = x^j (1 &lt;= x &lt;= N, 0 &lt;= j &lt; K)
+     */
+    private final int[][] powers;
+    private final int blockSize;
+
+    private Splitter(int k, int n, GF256 gf256, CoefficientSource source) {
+        this.k = k;
+        this.n = n;
+        this.gf256 = gf256;
+        this.source = source;
+        int[] xs = new int[n];
+        for (int x = 1; x <= n; x++) {
+            xs[x - 1] = x;
+        }
+        this.powers = GF256Polynomial.powers(xs, k - 1, gf256);
+        this.blockSize = Math.max(MIN_BLOCK_SIZE, Math.min(BLOCK_SIZE, SPLIT_CACHE_SIZE / (k + n)));
+    }
+
+    /**
+     * To get splitter on the fastest GF256 implementation available.
+     *
+     * @param k    K
+     * @param n    N
+     * @return splitter
+     */
+    public static Splitter of(int k, int n) {
+        return of(k, n, GF256Factory.getFastest());
+    }
+
+    /**
+     * To get splitter.
+     *
+     * @param k        K
+     * @param n        N
+     * @param gf256    GF256 implementation (should be thread-safe)
+     * @return splitter
+     */
+    public static Splitter of(int k, int n, GF256 gf256) {
+        return of(k, n, gf256, DEFAULT_COEFFICIENT_SOURCE);
+    }
+
+    /**
+     * To get splitter with the given source of coefficients.
+     *
+     * @param k         K
+     * @param n         N
+     * @param gf256     GF256 implementation (should be thread-safe)
+     * @param source    source of random coefficients (should be thread-safe)
+     * @return splitter
+     */
+    public static Splitter of(int k, int n, GF256 gf256, CoefficientSource source) {
+        // validate split parameters
+        if (n < 3 || n > 255) {
+            throw new IllegalArgumentException("n should be 3-255");
+        } else if (k < 2 || k > 255) {
+            throw new IllegalArgumentException("k should be 1-255");
+        } else if (k > n) {
+            throw new IllegalArgumentException("n should be larger than k");
+        } else if (gf256 == null) {
+            throw new IllegalArgumentException("gf256 should not be null");
+        } else if (source == null) {
+            throw new IllegalArgumentException("source should not be null");
+        }
+        return new Splitter(k, n, gf256, source);
+    }
+
+    /**
+     * To get K.
+     *
+     * @return K
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * To get N.
+     *
+     * @return N
+     */
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * To split secret.
+     *
+     * @param secret    binary representation of secret
+     * @return shares
+     */
+    public List<Share> split(byte[] secret) {
+        Probe probe = Probe.start(Operation.SPLIT);
+        validateSecret(secret);
+        probe.lap(Phase.VALIDATION);
+
+        byte[][] shareValues = new byte[n][secret.length];
+        splitBlocks(secret, 0, secret.length, shareValues, probe);
+        List<Share> shares = toShares(shareValues);
+        probe.end(secret.length);
+        return shares;
+    }
+
+    /**
+     * To split secret into buffers owned by the caller.
+     *
+     * <p>
+     * The value of the share whose index is i+1 is written to {@code shareOut[i]}
+     * from 0 to len. Nothing is allocated but the scratch buffers kept per thread.
+     *
+     * @param secret      binary representation of secret
+     * @param off         offset of secret
+     * @param len         length of secret
+     * @param shareOut    N buffers to write share values (at least len bytes each)
+     */
+    public void splitInto(byte[] secret, int off, int len, byte[][] shareOut) {
+        Probe probe = Probe.start(Operation.SPLIT);
+        if (secret == null) {
+            throw new IllegalArgumentException("secret should not be null");
+        } else if (len <= 0) {
+            throw new IllegalArgumentException("len should be larger than 0");
+        } else if (off < 0 || off > secret.length - len) {
+            throw new IllegalArgumentException("off and len should be within secret");
+        } else if (shareOut == null) {
+            throw new IllegalArgumentException("shareOut should not be null");
+        } else if (shareOut.length != n) {
+            throw new IllegalArgumentException("shareOut should have n elements");
+        }
+        for (byte[] out : shareOut) {
+            if (out == null || out.length < len) {
+                throw new IllegalArgumentException("shareOut should have enough bytes");
+            }
+        }
+        probe.lap(Phase.VALIDATION);
+
+        splitBlocks(secret, off, len, shareOut, probe);
+        probe.end(len);
+    }
+
+    /**
+     * To split secret on buffers into buffers owned by the caller.
+     *
+     * <p>
+     * {@code secret.remaining()} bytes are split from the current position, and
+     * the value of the share whose index is i+1 is written to {@code shareOut[i]}
+     * from its current position. The positions of all buffers are not changed.
+     * Buffers may be direct (e.g. memory-mapped); only a view of each buffer is
+     * allocated per call.
+     *
+     * @param secret      binary representation of secret (from position to limit)
+     * @param shareOut    N buffers to write share values (from position)
+     */
+    public void splitInto(ByteBuffer secret, ByteBuffer[] shareOut) {
+        Probe probe = Probe.start(Operation.SPLIT);
+        if (secret == null) {
+            throw new IllegalArgumentException("secret should not be null");
+        } else if (!secret.hasRemaining()) {
+            throw new IllegalArgumentException("secret should not be empty");
+        } else if (shareOut == null) {
+            throw new IllegalArgumentException("shareOut should not be null");
+        } else if (shareOut.length != n) {
+            throw new IllegalArgumentException("shareOut should have n elements");
+        }
+        int len = secret.remaining();
+        for (ByteBuffer out : shareOut) {
+            if (out == null || out.remaining() < len) {
+                throw new IllegalArgumentException("shareOut should have enough remaining bytes");
+            }
+        }
+        probe.lap(Phase.VALIDATION);
+
+        splitBuffers(secret, shareOut, probe);
+        probe.end(len);
+    }
+
+    /**
+     * To get the number of scratch bytes kept by the current thread.
+     *
+     * @return number of bytes
+     */
+    static long scratchSize() {
+        return SCRATCH.get().size();
+    }
+
+    /**
+     * To split secret block by block.
+     *
+     * @param secret      binary representation of secret
+     * @param off         offset of secret
+     * @param len         length of secret
+     * @param shareOut    N buffers to write share values
+     * @param probe       probe
+     */
+    private void splitBlocks(byte[] secret, int off, int len, byte[][] shareOut, Probe probe) {
+        Scratch s = SCRATCH.get();
+        try {
+            // split each block of secret bytes to n pieces of shares.
+            for (int pos = 0; pos < len; pos += blockSize) {
+                int blockLen = Math.min(blockSize, len - pos);
+                splitBlock(secret, off + pos, blockLen, s.coefficients(k - 1, blockSize, blockLen), shareOut, pos,
+                        probe);
+            }
+        } finally {
+            s.clear();
+        }
+    }
+
+    /**
+     * To split secret on buffers block by block.
+     *
+     * @param secret      binary representation of secret (from position to limit)
+     * @param shareOut    N buffers to write share values (from position)
+     * @param probe       probe
+     */
+    private void splitBuffers(ByteBuffer secret, ByteBuffer[] shareOut, Probe probe) {
+        int len = secret.remaining();
+        Scratch s = SCRATCH.get();
+        byte[][] blocks = Blocks.staging(n + 1);
+        byte[] secretBlock = blocks[n];
+        ByteBuffer in = secret.duplicate();
+        ByteBuffer[] outs = new ByteBuffer[n];
+        for (int i = 0; i < n; i++) {
+            outs[i] = shareOut[i].duplicate();
+        }
+
+        // blocks are copied in bulk to and from the heap, and split with the byte[] kernels
+        try {
+            for (int pos = 0; pos < len; pos += blockSize) {
+                int blockLen = Math.min(blockSize, len - pos);
+                in.get(secretBlock, 0, blockLen);
+                splitBlock(secretBlock, 0, blockLen, s.coefficients(k - 1, blockSize, blockLen), blocks, 0,
+                        probe);
+                for (int i = 0; i < n; i++) {
+                    outs[i].put(blocks[i], 0, blockLen);
+                }
+                probe.lap(Phase.EVALUATION);
+            }
+        } finally {
+            s.clear();
+            Blocks.clear(blocks);
+        }
+    }
+
+    /**
+     * To split secret in parallel.
+     *
+     * <p>
+     * Every byte of secret is split independently, so the secret is partitioned
+     * into chunks of {@code chunkSize} bytes (the last one may be shorter) which
+     * are split on the pool. Each worker thread uses its own scratch buffers. A
+     * secret not larger than {@code chunkSize} is split on the caller thread. The
+     * shares are in the same format as {@link #split(byte[])}.
+     *
+     * @param secret       binary representation of secret
+     * @param pool         pool to run split tasks (e.g. {@link ForkJoinPool#commonPool()})
+     * @param chunkSize    number of bytes split by a task
+     * @return shares
+     */
+    public List<Share> split(byte[] secret, ForkJoinPool pool, int chunkSize) {
+        Probe probe = Probe.start(Operation.SPLIT);
+        validateSecret(secret);
+        if (pool == null) {
+            throw new IllegalArgumentException("pool should not be null");
+        } else if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize should be larger than 0");
+        }
+        probe.lap(Phase.VALIDATION);
+
+        byte[][] shareValues = new byte[n][secret.length];
+        SplitTask task = new SplitTask(this, secret, 0, secret.length, shareValues, chunkSize);
+        if (secret.length <= chunkSize) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        // the tasks draw coefficients and evaluate polynomials on their own threads
+        probe.lap(Phase.EVALUATION);
+        List<Share> shares = toShares(shareValues);
+        probe.end(secret.length);
+        return shares;
+    }
+
+    /**
+     * To split secret stream.
+     *
+     * <p>
+     * The secret is read in fixed-size chunks and each chunk of the shares is
+     * written to its own stream, so memory usage does not depend on the size of
+     * the secret. The i-th stream receives the value of the share whose index is
+     * i+1. Streams are neither flushed nor closed.
+     *
+     * @param secret    stream of secret
+     * @param shares    N streams to write shares (index of i-th stream is i+1)
+     * @throws IOException if an I/O error occurs
+     */
+    public void split(InputStream secret, List<? extends OutputStream> shares) throws IOException {
+        Probe probe = Probe.start(Operation.SPLIT);
+        validateShares(shares);
+        if (secret == null) {
+            throw new IllegalArgumentException("secret should not be null");
+        }
+        probe.lap(Phase.VALIDATION);
+
+        byte[] chunk = new byte[blockSize];
+        byte[][] shareChunks = new byte[n][blockSize];
+        Scratch s = SCRATCH.get();
+
+        long total = 0;
+        try {
+            int len;
+            while ((len = readFully(secret, chunk)) > 0) {
+                probe.skip();
+                splitBlock(chunk, 0, len, s.coefficients(k - 1, blockSize, len), shareChunks, 0, probe);
+                for (int i = 0; i < n; i++) {
+                    shares.get(i).write(shareChunks[i], 0, len);
+                }
+                total += len;
+            }
+        } finally {
+            s.clear();
+            Arrays.fill(chunk, (byte) 0);
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("secret should not be empty");
+        }
+        probe.end(total);
+    }
+
+    /**
+     * To split secret file.
+     *
+     * <p>
+     * The secret file and the share files are memory-mapped window by window,
+     * so files larger than 2GB can be handled. Each window is split through the
+     * per-thread staging blocks of {@link Blocks#BLOCK_SIZE} bytes and unmapped
+     * before the next one is mapped, so neither the heap used nor the mapped
+     * size (bounded by {@link Blocks#MAP_SIZE}) grows with the files. The share
+     * files are forced to the storage once at the end. Existing share files are
+     * overwritten. The i-th path receives the value of the share whose index is
+     * i+1.
+     *
+     * @param secret    path of secret file
+     * @param shares    N paths to write shares (index of i-th path is i+1)
+     * @throws IOException if an I/O error occurs
+     */
+    public void split(Path secret, List<Path> shares) throws IOException {
+        split(secret, shares, mapWindowSize(n + 1));
+    }
+
+    /**
+     * To split secret file with the given window size.
+     *
+     * @param secret        path of secret file
+     * @param shares        N paths to write shares (index of i-th path is i+1)
+     * @param windowSize    number of bytes mapped at once per file
+     * @throws IOException if an I/O error occurs
+     */
+    void split(Path secret, List<Path> shares, int windowSize) throws IOException {
+        Probe probe = Probe.start(Operation.SPLIT);
+        validateShares(shares);
+        if (secret == null) {
+            throw new IllegalArgumentException("secret should not be null");
+        }
+        probe.lap(Phase.VALIDATION);
+
+        FileChannel in = FileChannel.open(secret, StandardOpenOption.READ);
+        FileChannel[] outs = new FileChannel[n];
+        try {
+            long size = in.size();
+            if (size == 0) {
+                throw new IllegalArgumentException("secret should not be empty");
+            }
+            for (int i = 0; i < n; i++) {
+                outs[i] = FileChannel.open(shares.get(i), StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+
+            // windows[0, n) are the share windows, and windows[n] is the secret window
+            MappedByteBuffer[] windows = new MappedByteBuffer[n + 1];
+            ByteBuffer[] shareWindows = new ByteBuffer[n];
+            for (long pos = 0; pos < size; pos += windowSize) {
+                int len = (int) Math.min(windowSize, size - pos);
+                try {
+                    windows[n] = in.map(FileChannel.MapMode.READ_ONLY, pos, len);
+                    for (int i = 0; i < n; i++) {
+                        windows[i] = outs[i].map(FileChannel.MapMode.READ_WRITE, pos, len);
+                        shareWindows[i] = windows[i];
+                    }
+                    probe.skip();
+                    splitBuffers(windows[n], shareWindows, probe);
+                } finally {
+                    Arrays.fill(shareWindows, null);
+                    unmap(windows);
+                }
+            }
+            for (FileChannel out : outs) {
+                out.force(true);
+            }
+            probe.end(size);
+        } finally {
+            closeAll(in, outs);
+        }
+    }
+
+    private void validateSecret(byte[] secret) {
+        if (secret == null) {
+            throw new IllegalArgumentException("secret should not be null");
+        } else if (secret.length == 0) {
+            throw new IllegalArgumentException("secret should not be empty");
+        }
+    }
+
+    private void validateShares(List<?> shares) {
+        if (shares == null) {
+            throw new IllegalArgumentException("shares should not be null");
+        } else if (shares.size() != n) {
+            throw new IllegalArgumentException("shares should have n elements");
+        }
+    }
+
+    private List<Share> toShares(byte[][] shareValues) {
+        List<Share> shares = new ArrayList<>();
+        for (int x = 1; x <= n; x++) {
+            shares.add(new Share(x, shareValues[x - 1], k));
+        }
+        return shares;
+    }
+
+    /**
+     * To split a block of secret bytes to n pieces of shares.
+     *
+     * <p>
+     * The shares of a block are the product of the N x K power table and the
+     * K x len matrix of the secret bytes and the random coefficients. The
+     * secret bytes are read in place as the row of intercepts, so they are
+     * never copied to the scratch buffers.
+     *
+     * @param secret         secret bytes
+     * @param off            offset of the block in secret
+     * @param len            length of the block (&lt;= block size)
+     * @param coefficients   K-1 buffers of len bytes for coefficients (overwritten)
+     * @param shareValues    N buffers to write share values
+     * @param dstOff         offset of the block in share values
+     * @param probe          probe
+     */
+    private void splitBlock(byte[] secret, int off, int len, byte[][] coefficients, byte[][] shareValues,
+                            int dstOff, Probe probe) {
+        // prepare polynomials: p(x) = secret + c_1 x + c_2 x^2 + \dots + c_{k-1} x^{k-1}
+        for (int j = 1; j < k; j++) {
+            source.nextCoefficients(coefficients[j - 1]);
+        }
+        probe.lap(Phase.RNG);
+
+        // split: y_i = secret + \sum_j x_i^j c_j (x_i^0 = 1)
+        for (int i = 0; i < n; i++) {
+            int[] row = powers[i];
+            byte[] y = shareValues[i];
+            System.arraycopy(secret, off, y, dstOff, len);
+            for (int j = 1; j < k; j++) {
+                gf256.mulAddRegion(coefficients[j - 1], 0, row[j], y, dstOff, len);
+            }
+        }
+        probe.lap(Phase.EVALUATION);
+    }
+
+    /**
+     * Task to split a range of secret bytes.
+     *
+     * <p>
+     * A range of more than one chunk is halved at a chunk boundary, so every
+     * task but the last one splits exactly chunkSize bytes.
+     */
+    private static final class SplitTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Splitter splitter;
+        private final byte[] secret;
+        private final int from;
+        private final int to;
+        private final byte[][] shareValues;
+        private final int chunkSize;
+
+        SplitTask(Splitter splitter, byte[] secret, int from, int to, byte[][] shareValues, int chunkSize) {
+            this.splitter = splitter;
+            this.secret = secret;
+            this.from = from;
+            this.to = to;
+            this.shareValues = shareValues;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            int chunks = (int) ((to - from + (long) chunkSize - 1) / chunkSize);
+            if (chunks > 1) {
+                int mid = from + (chunks / 2) * chunkSize;
+                invokeAll(new SplitTask(splitter, secret, from, mid, shareValues, chunkSize),
+                        new SplitTask(splitter, secret, mid, to, shareValues, chunkSize));
+                return;
+            }
+            Scratch s = SCRATCH.get();
+            int blockSize = splitter.blockSize;
+            try {
+                for (int off = from; off < to; off += blockSize) {
+                    int len = Math.min(blockSize, to - off);
+                    splitter.splitBlock(secret, off, len, s.coefficients(splitter.k - 1, blockSize, len),
+                            shareValues, off, Probe.DISABLED);
+                }
+            } finally {
+                s.clear();
+            }
+        }
+
+    }
+
+    /**
+     * Scratch buffers of a thread.
+     *
+     * <p>
+     * coefficients[j - 1][i] is the coefficient of x^j for the i-th byte in a
+     * block. Exactly len bytes of coefficients are drawn for a block of len
+     * bytes, so buffers for full blocks and for the last (shorter) block are
+     * kept apart. The buffers are shared by all splitters used on the thread and
+     * grow to the largest K; they hold no reference to a splitter, so a splitter
+     * is never kept alive by the threads which used it.
+     */
+    private static final class Scratch {
+
+        private byte[][] full;
+        private byte[][] partial;
+
+        /**
+         * To get at least rows buffers of len bytes.
+         */
+        byte[][] coefficients(int rows, int blockSize, int len) {
+            if (len == blockSize) {
+                if (full == null || full.length < rows || full[0].length != len) {
+                    full = new byte[grow(full, rows)][len];
+                }
+                return full;
+            }
+            if (partial == null || partial.length < rows || partial[0].length != len) {
+                partial = new byte[grow(partial, rows)][len];
+            }
+            return partial;
+        }
+
+        /**
+         * To clear the coefficients drawn for the last secret.
+         */
+        void clear() {
+            Blocks.clear(full);
+            Blocks.clear(partial);
+        }
+
+        /**
+         * To get the number of bytes kept.
+         */
+        long size() {
+            return size(full) + size(partial);
+        }
+
+        private static long size(byte[][] cols) {
+            return cols == null ? 0 : (long) cols.length * cols[0].length;
+        }
+
+        private static int grow(byte[][] cols, int rows) {
+            return cols == null ? rows : Math.max(cols.length, rows);
+        }
+
+    }
+
+}
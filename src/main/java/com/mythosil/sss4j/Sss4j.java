@@ -15,30 +15,69 @@
  */
 package com.mythosil.sss4j;
 
-import com.mythosil.sss4j.impl.DefaultGF256;
+import com.mythosil.sss4j.Instrumentation.Operation;
+import com.mythosil.sss4j.Instrumentation.Phase;
+import com.mythosil.sss4j.impl.GF256Factory;
 
-import java.security.SecureRandom;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Secret Sharing Scheme for Java (SSS4J).
  *
  * <p>
  * Implementation of (K,N)-threshold Shamir's Secret Sharing Scheme on GF(2^8).
+ * Each call prepares its own {@link Splitter} or {@link Combiner}; to split or
+ * combine many secrets with the same parameters, reuse those instead.
  *
  * @since 1.0.0
  */
 public class Sss4j {
 
+    private static volatile Instrumentation instrumentation;
+
     private Sss4j() {
         // make its constructor private
     }
 
     /**
-     * To split secret on default GF256 implementation.
+     * To install instrumentation of split, combine and issue.
+     *
+     * <p>
+     * It applies to {@link Splitter} and {@link Combiner} as well.
+     *
+     * @param instrumentation    instrumentation (null to disable)
+     * @since 1.1.0
+     */
+    public static void setInstrumentation(Instrumentation instrumentation) {
+        Sss4j.instrumentation = instrumentation;
+    }
+
+    /**
+     * To get installed instrumentation.
+     *
+     * @return instrumentation (null if disabled)
+     * @since 1.1.0
+     */
+    public static Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * To split secret on the fastest GF256 implementation available.
      *
      * @param secret binary representation of secret
      * @param k      K
@@ -46,7 +85,7 @@ public class Sss4j {
      * @return shares
      */
     public static List<Share> split(byte[] secret, int k, int n) {
-        return split(secret, k, n, new DefaultGF256());
+        return Splitter.of(k, n).split(secret);
     }
 
     /**
@@ -59,55 +98,123 @@ public class Sss4j {
      * @return shares
      */
     public static List<Share> split(byte[] secret, int k, int n, GF256 gf256) {
-        // validate split parameters
-        if (n < 3 || n > 255) {
-            throw new IllegalArgumentException("n should be 3-255");
-        } else if (k < 2 || k > 255) {
-            throw new IllegalArgumentException("k should be 1-255");
-        } else if (k > n) {
-            throw new IllegalArgumentException("n should be larger than k");
-        } else if (secret == null) {
-            throw new IllegalArgumentException("secret should not be null");
-        } else if (secret.length == 0) {
-            throw new IllegalArgumentException("secret should not be empty");
-        } else if (gf256 == null) {
-            throw new IllegalArgumentException("gf256 should not be null");
-        }
+        return Splitter.of(k, n, gf256).split(secret);
+    }
+
+    /**
+     * To split secret with the given source of coefficients.
+     *
+     * @param secret binary representation of secret
+     * @param k      K
+     * @param n      N
+     * @param gf256  GF256 implementation
+     * @param source source of random coefficients
+     * @return shares
+     */
+    public static List<Share> split(byte[] secret, int k, int n, GF256 gf256, CoefficientSource source) {
+        return Splitter.of(k, n, gf256, source).split(secret);
+    }
+
+    /**
+     * To split secret in parallel on the fastest GF256 implementation available.
+     *
+     * @param secret    binary representation of secret
+     * @param k         K
+     * @param n         N
+     * @param pool      pool to run split tasks (e.g. {@link ForkJoinPool#commonPool()})
+     * @return shares
+     * @see #split(byte[], int, int, GF256, ForkJoinPool, int)
+     */
+    public static List<Share> split(byte[] secret, int k, int n, ForkJoinPool pool) {
+        return split(secret, k, n, GF256Factory.getFastest(), pool, Splitter.PARALLEL_CHUNK_SIZE);
+    }
 
-        List<Share> shares = new ArrayList<>();
-        int degree = k - 1;
-        Random random = new SecureRandom();
-        byte[][] shareValues = new byte[n][secret.length];
+    /**
+     * To split secret in parallel.
+     *
+     * @param secret       binary representation of secret
+     * @param k            K
+     * @param n            N
+     * @param gf256        GF256 implementation (should be thread-safe)
+     * @param pool         pool to run split tasks (e.g. {@link ForkJoinPool#commonPool()})
+     * @param chunkSize    minimum number of bytes to be split by a task
+     * @return shares
+     * @see Splitter#split(byte[], ForkJoinPool, int)
+     */
+    public static List<Share> split(byte[] secret, int k, int n, GF256 gf256, ForkJoinPool pool, int chunkSize) {
+        return Splitter.of(k, n, gf256).split(secret, pool, chunkSize);
+    }
 
-        // split each secret byte to n pieces of shares.
-        for (int i = 0; i < secret.length; i++) {
-            // prepare polynomial
-            int intercept = secret[i] & 0xFF;
-            GF256Polynomial p = new GF256Polynomial(degree, intercept, random, gf256);
+    /**
+     * To split secret stream on the fastest GF256 implementation available.
+     *
+     * @param secret    stream of secret
+     * @param shares    N streams to write shares (index of i-th stream is i+1)
+     * @param k         K
+     * @throws IOException if an I/O error occurs
+     * @see #split(InputStream, List, int, GF256)
+     */
+    public static void split(InputStream secret, List<? extends OutputStream> shares, int k)
+            throws IOException {
+        split(secret, shares, k, GF256Factory.getFastest());
+    }
 
-            // split
-            for (int x = 1; x <= n; x++) {
-                int y = p.evaluate(x);
-                shareValues[x - 1][i] = (byte) y;
-            }
+    /**
+     * To split secret stream.
+     *
+     * @param secret    stream of secret
+     * @param shares    N streams to write shares (index of i-th stream is i+1)
+     * @param k         K
+     * @param gf256     GF256 implementation
+     * @throws IOException if an I/O error occurs
+     * @see Splitter#split(InputStream, List)
+     */
+    public static void split(InputStream secret, List<? extends OutputStream> shares, int k, GF256 gf256)
+            throws IOException {
+        if (shares == null) {
+            throw new IllegalArgumentException("shares should not be null");
         }
+        Splitter.of(k, shares.size(), gf256).split(secret, shares);
+    }
 
-        for (int x = 1; x <= n; x++) {
-            Share s = new Share(x, shareValues[x - 1]);
-            shares.add(s);
-        }
+    /**
+     * To split secret file on the fastest GF256 implementation available.
+     *
+     * @param secret    path of secret file
+     * @param shares    N paths to write shares (index of i-th path is i+1)
+     * @param k         K
+     * @throws IOException if an I/O error occurs
+     * @see #split(Path, List, int, GF256)
+     */
+    public static void split(Path secret, List<Path> shares, int k) throws IOException {
+        split(secret, shares, k, GF256Factory.getFastest());
+    }
 
-        return shares;
+    /**
+     * To split secret file.
+     *
+     * @param secret    path of secret file
+     * @param shares    N paths to write shares (index of i-th path is i+1)
+     * @param k         K
+     * @param gf256     GF256 implementation
+     * @throws IOException if an I/O error occurs
+     * @see Splitter#split(Path, List)
+     */
+    public static void split(Path secret, List<Path> shares, int k, GF256 gf256) throws IOException {
+        if (shares == null) {
+            throw new IllegalArgumentException("shares should not be null");
+        }
+        Splitter.of(k, shares.size(), gf256).split(secret, shares);
     }
 
     /**
-     * To combine shares on default GF256 implementation.
+     * To combine shares on the fastest GF256 implementation available.
      *
      * @param shares    shares
      * @return secret (binary representation)
      */
     public static byte[] combine(List<Share> shares) {
-        return combine(shares, new DefaultGF256());
+        return combine(shares, GF256Factory.getFastest());
     }
 
     /**
@@ -118,42 +225,182 @@ public class Sss4j {
      * @return secret (binary representation)
      */
     public static byte[] combine(List<Share> shares, GF256 gf256) {
+        return combine(shares, false, gf256);
+    }
+
+    /**
+     * To combine shares on the fastest GF256 implementation available.
+     *
+     * @param shares    shares
+     * @param verify    whether to verify the shares beyond the threshold
+     * @return secret (binary representation)
+     * @see #combine(List, boolean, GF256)
+     * @since 1.1.0
+     */
+    public static byte[] combine(List<Share> shares, boolean verify) {
+        return combine(shares, verify, GF256Factory.getFastest());
+    }
+
+    /**
+     * To combine shares.
+     *
+     * <p>
+     * If the shares know their threshold K (see {@link Share#getThreshold()}),
+     * only the first K shares are interpolated, and the others are ignored
+     * unless verify is true, in which case they should lie on the same
+     * polynomial. Shares whose threshold is unknown (0) may be mixed with them.
+     * If no share knows its threshold, all shares are interpolated, and they
+     * cannot be verified.
+     *
+     * @param shares    shares
+     * @param verify    whether to verify the shares beyond the threshold
+     * @param gf256     GF256 implementation
+     * @return secret (binary representation)
+     * @throws IllegalArgumentException if verify is true and the shares do not know their threshold
+     * @since 1.1.0
+     */
+    public static byte[] combine(List<Share> shares, boolean verify, GF256 gf256) {
+        Probe probe = Probe.start(Operation.COMBINE);
         // validate combine parameters
         if (shares == null) {
             throw new IllegalArgumentException("shares should not be null");
         } else if (shares.isEmpty()) {
             throw new IllegalArgumentException("shares should not be empty");
-        } if (gf256 == null) {
+        } else if (gf256 == null) {
             throw new IllegalArgumentException("gf256 should not be null");
         }
+        int k = thresholdOf(shares);
+        if (k > shares.size()) {
+            throw new IllegalArgumentException("shares should have k elements or more");
+        } else if (verify && k == 0) {
+            throw new IllegalArgumentException("shares should have threshold to be verified");
+        }
+        if (k > 0 && k < shares.size()) {
+            if (verify) {
+                int[] xs = indicesOf(shares);
+                validateIndices(xs);
+                verify(xs, valuesOf(shares), k, gf256);
+            }
+            shares = shares.subList(0, k);
+        }
+        probe.lap(Phase.VALIDATION);
+        Combiner combiner = Combiner.forIndices(indicesOf(shares), gf256);
+        probe.lap(Phase.SOLVE);
+        byte[] secret = combiner.combine(shares, probe);
+        probe.end(secret.length);
+        return secret;
+    }
+
+    /**
+     * To combine share streams on the fastest GF256 implementation available.
+     *
+     * @param shares    streams of shares (key: index of share)
+     * @param secret    stream to write secret
+     * @throws IOException if an I/O error occurs
+     * @see #combine(Map, OutputStream, GF256)
+     */
+    public static void combine(Map<Integer, ? extends InputStream> shares, OutputStream secret)
+            throws IOException {
+        combine(shares, secret, GF256Factory.getFastest());
+    }
+
+    /**
+     * To combine share streams.
+     *
+     * @param shares    streams of shares (key: index of share)
+     * @param secret    stream to write secret
+     * @param gf256     GF256 implementation
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the share streams have different lengths
+     * @see Combiner#combine(Map, OutputStream)
+     */
+    public static void combine(Map<Integer, ? extends InputStream> shares, OutputStream secret, GF256 gf256)
+            throws IOException {
+        // validate combine parameters
+        if (shares == null) {
+            throw new IllegalArgumentException("shares should not be null");
+        } else if (shares.isEmpty()) {
+            throw new IllegalArgumentException("shares should not be empty");
+        }
+        Combiner.forIndices(keysOf(shares), gf256).combine(shares, secret);
+    }
 
-        Share first = shares.get(0);
-        int secretLength = first.getValue().length;
-        byte[] secret = new byte[secretLength];
+    /**
+     * To combine share channels on the fastest GF256 implementation available.
+     *
+     * @param shares    channels of shares (key: index of share)
+     * @param secret    channel to write secret
+     * @throws IOException if an I/O error occurs
+     * @see #combine(Map, OutputStream, GF256)
+     */
+    public static void combine(Map<Integer, ? extends ReadableByteChannel> shares, WritableByteChannel secret)
+            throws IOException {
+        combine(shares, secret, GF256Factory.getFastest());
+    }
 
-        for (int i = 0; i < secretLength; i++) {
-            List<Point> points = new ArrayList<>();
-            for (Share s : shares) {
-                int x = s.getIndex();
-                int y = s.getValue()[i] & 0xFF;
-                Point p = new Point(x, y);
-                points.add(p);
-            }
-            secret[i] = (byte) GF256Polynomial.interpolate(points, 0, gf256);
+    /**
+     * To combine share channels.
+     *
+     * @param shares    channels of shares (key: index of share)
+     * @param secret    channel to write secret
+     * @param gf256     GF256 implementation
+     * @throws IOException if an I/O error occurs
+     * @see #combine(Map, OutputStream, GF256)
+     */
+    public static void combine(Map<Integer, ? extends ReadableByteChannel> shares, WritableByteChannel secret,
+                               GF256 gf256) throws IOException {
+        if (shares == null) {
+            throw new IllegalArgumentException("shares should not be null");
+        } else if (secret == null) {
+            throw new IllegalArgumentException("secret should not be null");
         }
+        Map<Integer, InputStream> ins = new LinkedHashMap<>();
+        for (Map.Entry<Integer, ? extends ReadableByteChannel> e : shares.entrySet()) {
+            ins.put(e.getKey(), Channels.newInputStream(e.getValue()));
+        }
+        combine(ins, Channels.newOutputStream(secret), gf256);
+    }
 
-        return secret;
+    /**
+     * To combine share files on the fastest GF256 implementation available.
+     *
+     * @param shares    paths of shares (key: index of share)
+     * @param secret    path to write secret
+     * @throws IOException if an I/O error occurs
+     * @see #combine(Map, Path, GF256)
+     */
+    public static void combine(Map<Integer, Path> shares, Path secret) throws IOException {
+        combine(shares, secret, GF256Factory.getFastest());
+    }
+
+    /**
+     * To combine share files.
+     *
+     * @param shares    paths of shares (key: index of share)
+     * @param secret    path to write secret
+     * @param gf256     GF256 implementation
+     * @throws IOException if an I/O error occurs
+     * @see Combiner#combine(Map, Path)
+     */
+    public static void combine(Map<Integer, Path> shares, Path secret, GF256 gf256) throws IOException {
+        // validate combine parameters
+        if (shares == null) {
+            throw new IllegalArgumentException("shares should not be null");
+        } else if (shares.isEmpty()) {
+            throw new IllegalArgumentException("shares should not be empty");
+        }
+        Combiner.forIndices(keysOf(shares), gf256).combine(shares, secret);
     }
 
     /**
-     * To issue new share on default GF256 implementation.
+     * To issue new share on the fastest GF256 implementation available.
      *
      * @param shares    shares
      * @param index     index value for new share
      * @return new share
      */
     public static Share issue(List<Share> shares, int index) {
-        return issue(shares, index, new DefaultGF256());
+        return issue(shares, index, GF256Factory.getFastest());
     }
 
     /**
@@ -165,46 +412,314 @@ public class Sss4j {
      * @return new share
      */
     public static Share issue(List<Share> shares, int index, GF256 gf256) {
+        return issue(shares, new int[]{index}, gf256).get(0);
+    }
+
+    /**
+     * To issue new shares on the fastest GF256 implementation available.
+     *
+     * @param shares     shares
+     * @param indices    index values for new shares
+     * @return new shares (in the order of indices)
+     */
+    public static List<Share> issue(List<Share> shares, int[] indices) {
+        return issue(shares, indices, GF256Factory.getFastest());
+    }
+
+    /**
+     * To issue new shares.
+     *
+     * <p>
+     * The polynomial through the given shares is evaluated directly at each new
+     * index with Lagrange weights computed once per index, so every new share
+     * costs one pass over the given shares. If the shares know their threshold
+     * K, only the first K shares are used, as in {@link #combine(List, boolean, GF256)}.
+     *
+     * @param shares     shares
+     * @param indices    index values for new shares
+     * @param gf256      GF256 implementation
+     * @return new shares (in the order of indices)
+     */
+    public static List<Share> issue(List<Share> shares, int[] indices, GF256 gf256) {
+        Probe probe = Probe.start(Operation.ISSUE);
         // validate issue parameters
         if (shares == null) {
             throw new IllegalArgumentException("shares should not be null");
         } else if (shares.isEmpty()) {
             throw new IllegalArgumentException("shares should not be empty");
-        } else if (index <= 0) {
-            throw new IllegalArgumentException("index should be larger than 0");
+        } else if (indices == null) {
+            throw new IllegalArgumentException("indices should not be null");
+        } else if (gf256 == null) {
+            throw new IllegalArgumentException("gf256 should not be null");
+        }
+
+        int[] xs = indicesOf(shares);
+        int threshold = thresholdOf(shares);
+        if (threshold > shares.size()) {
+            throw new IllegalArgumentException("shares should have k elements or more");
+        }
+        validateIndices(xs);
+        Set<Integer> used = new HashSet<>();
+        for (int x : xs) {
+            used.add(x);
+        }
+        if (threshold > 0 && threshold < shares.size()) {
+            shares = shares.subList(0, threshold);
+            xs = Arrays.copyOf(xs, threshold);
+        }
+        byte[][] values = valuesOf(shares);
+        for (int index : indices) {
+            if (index <= 0) {
+                throw new IllegalArgumentException("index should be larger than 0");
+            } else if (index > 255) {
+                throw new IllegalArgumentException("index should be smaller than 256");
+            } else if (!used.add(index)) {
+                throw new IllegalArgumentException("index already exists");
+            }
+        }
+
+        probe.lap(Phase.VALIDATION);
+
+        int[][] weights = new int[indices.length][];
+        for (int i = 0; i < indices.length; i++) {
+            weights[i] = GF256Polynomial.weights(xs, indices[i], gf256);
+        }
+
+        probe.lap(Phase.SOLVE);
+
+        int secretLength = values[0].length;
+        byte[][] shareValues = new byte[indices.length][secretLength];
+        for (int off = 0; off < secretLength; off += Blocks.BLOCK_SIZE) {
+            int len = Math.min(Blocks.BLOCK_SIZE, secretLength - off);
+            for (int i = 0; i < indices.length; i++) {
+                GF256Polynomial.weightedSum(weights[i], values, off, len, shareValues[i], off, gf256);
+            }
+        }
+
+        probe.lap(Phase.INTERPOLATION);
+
+        List<Share> issued = new ArrayList<>();
+        for (int i = 0; i < indices.length; i++) {
+            issued.add(new Share(indices[i], shareValues[i], threshold));
+        }
+        probe.end(secretLength);
+        return issued;
+    }
+
+    /**
+     * To recover secret from shares which may be corrupted on the fastest GF256
+     * implementation available.
+     *
+     * @param shares    K or more shares with distinct indices
+     * @param k         K (number of shares to recover secret)
+     * @return secret and indices of faulty shares
+     * @since 1.1.0
+     */
+    public static Recovery recover(List<Share> shares, int k) {
+        return recover(shares, k, GF256Factory.getFastest());
+    }
+
+    /**
+     * To recover secret from shares which may be corrupted.
+     *
+     * <p>
+     * The shares are decoded as a Reed-Solomon codeword (Berlekamp-Welch), so
+     * up to (M-K)/2 faulty shares out of M are found and excluded. Columns
+     * consistent with the first K shares cost the same as {@link #combine(List, GF256)}.
+     *
+     * @param shares    K or more shares with distinct indices
+     * @param k         K (number of shares to recover secret)
+     * @param gf256     GF256 implementation
+     * @return secret and indices of faulty shares
+     * @since 1.1.0
+     */
+    public static Recovery recover(List<Share> shares, int k, GF256 gf256) {
+        Probe probe = Probe.start(Operation.COMBINE);
+        // validate recover parameters
+        if (shares == null) {
+            throw new IllegalArgumentException("shares should not be null");
+        } else if (k < 1 || k > 255) {
+            throw new IllegalArgumentException("k should be 1-255");
+        } else if (shares.size() < k) {
+            throw new IllegalArgumentException("shares should have k elements or more");
         } else if (gf256 == null) {
             throw new IllegalArgumentException("gf256 should not be null");
         }
+        int[] xs = indicesOf(shares);
+        byte[][] values = valuesOf(shares);
+        validateIndices(xs);
 
-        byte[] secret = combine(shares, gf256);
-        byte[] shareValue = new byte[secret.length];
-        for (int i = 0; i < secret.length; i++) {
-            final int j = i;
-            List<Point> points = shares.stream().map(s -> {
-                int x = s.getIndex();
-                int y = s.getValue()[j] & 0xFF;
-                if (x == index) {
-                    throw new IllegalArgumentException("index already exists");
+        probe.lap(Phase.VALIDATION);
+
+        boolean[] faulty = new boolean[xs.length];
+        byte[] secret = BerlekampWelch.recover(xs, values, k, faulty, gf256);
+
+        probe.lap(Phase.INTERPOLATION);
+
+        int count = 0;
+        for (boolean f : faulty) {
+            if (f) {
+                count++;
+            }
+        }
+        int[] faultyIndices = new int[count];
+        for (int i = 0, j = 0; i < xs.length; i++) {
+            if (faulty[i]) {
+                faultyIndices[j++] = xs[i];
+            }
+        }
+        Arrays.sort(faultyIndices);
+        probe.end(secret.length);
+        return new Recovery(secret, faultyIndices);
+    }
+
+    /**
+     * To get indices of shares.
+     *
+     * @param shares    shares
+     * @return indices
+     */
+    private static int[] indicesOf(List<Share> shares) {
+        int[] xs = new int[shares.size()];
+        for (int j = 0; j < xs.length; j++) {
+            xs[j] = shares.get(j).getIndex();
+        }
+        return xs;
+    }
+
+    /**
+     * To get values of shares, which should have the same length.
+     *
+     * @param shares    shares
+     * @return values
+     */
+    private static byte[][] valuesOf(List<Share> shares) {
+        byte[][] values = new byte[shares.size()][];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = shares.get(j).getValue();
+            if (values[j].length != values[0].length) {
+                throw new IllegalArgumentException("shares should have the same length");
+            }
+        }
+        return values;
+    }
+
+    /**
+     * To get the threshold of shares, which should be the same but for unknown
+     * ones (e.g. shares restored with {@link Share#Share(int, byte[])}).
+     *
+     * @param shares    shares
+     * @return threshold (0 if unknown for all shares)
+     */
+    private static int thresholdOf(List<Share> shares) {
+        int threshold = 0;
+        for (Share share : shares) {
+            int t = share.getThreshold();
+            if (t == 0) {
+                continue;
+            } else if (threshold == 0) {
+                threshold = t;
+            } else if (t != threshold) {
+                throw new IllegalArgumentException("shares should have the same threshold");
+            }
+        }
+        return threshold;
+    }
+
+    /**
+     * To validate that indices are 1-255 and distinct.
+     *
+     * @param xs    indices
+     */
+    private static void validateIndices(int[] xs) {
+        boolean[] seen = new boolean[256];
+        for (int x : xs) {
+            if (x <= 0) {
+                throw new IllegalArgumentException("index should be larger than 0");
+            } else if (x > 255) {
+                throw new IllegalArgumentException("index should be smaller than 256");
+            } else if (seen[x]) {
+                throw new IllegalArgumentException("indices should be distinct");
+            }
+            seen[x] = true;
+        }
+    }
+
+    /**
+     * To verify that the shares beyond the first K lie on the polynomial through the first K.
+     *
+     * @param xs        indices of shares
+     * @param values    values of shares
+     * @param k         K
+     * @param gf256     GF256 implementation
+     */
+    private static void verify(int[] xs, byte[][] values, int k, GF256 gf256) {
+        int[] baseXs = Arrays.copyOf(xs, k);
+        byte[][] base = Arrays.copyOf(values, k);
+        int size = values[0].length;
+        byte[] expected = new byte[Math.min(Blocks.BLOCK_SIZE, size)];
+        for (int i = k; i < xs.length; i++) {
+            int[] weights = GF256Polynomial.weights(baseXs, xs[i], gf256);
+            for (int off = 0; off < size; off += Blocks.BLOCK_SIZE) {
+                int len = Math.min(Blocks.BLOCK_SIZE, size - off);
+                GF256Polynomial.weightedSum(weights, base, off, len, expected, 0, gf256);
+                for (int l = 0; l < len; l++) {
+                    if (expected[l] != values[i][off + l]) {
+                        throw new IllegalArgumentException("shares should be consistent");
+                    }
                 }
-                Point p = new Point(x, y);
-                return p;
-            }).collect(Collectors.toList());
-            GF256Polynomial polynomial = createPolynomialFromPoints(points, gf256);
-            shareValue[i] = (byte) polynomial.evaluate(index);
+            }
+        }
+    }
+
+    /**
+     * To get indices of shares given as map.
+     *
+     * @param shares    shares (key: index of share)
+     * @return indices
+     */
+    private static int[] keysOf(Map<Integer, ?> shares) {
+        int[] xs = new int[shares.size()];
+        int j = 0;
+        for (Integer key : shares.keySet()) {
+            xs[j++] = key;
         }
-        Share share = new Share(index, shareValue);
-        return share;
+        return xs;
     }
 
-    private static GF256Polynomial createPolynomialFromPoints(List<Point> points, GF256 gf256) {
-        GF256Matrix mat = new GF256Matrix(points, gf256);
-        int[] col = mat.solve().getLastColumn();
-        int[] coefficients = new int[col.length];
-        for (int i = 0; i < col.length; i++) {
-            coefficients[col.length - 1 - i] = col[i];
+    /**
+     * Secret recovered from shares which may be corrupted.
+     *
+     * @since 1.1.0
+     */
+    public static final class Recovery {
+
+        private final byte[] secret;
+        private final int[] faultyIndices;
+
+        Recovery(byte[] secret, int[] faultyIndices) {
+            this.secret = secret;
+            this.faultyIndices = faultyIndices;
+        }
+
+        /**
+         * To get secret.
+         *
+         * @return secret (binary representation)
+         */
+        public byte[] getSecret() {
+            return secret;
         }
-        GF256Polynomial polynomial = new GF256Polynomial(coefficients, gf256);
-        return polynomial;
+
+        /**
+         * To get indices of faulty shares.
+         *
+         * @return indices of faulty shares in ascending order (empty if none)
+         */
+        public int[] getFaultyIndices() {
+            return faultyIndices;
+        }
+
     }
 
 }
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.impl;
+
+import com.mythosil.sss4j.GF256;
+
+/**
+ * Factory of GF256 implementations selected at runtime.
+ *
+ * <p>
+ * {@link #getFastest()} returns the Java Vector API implementation when it is
+ * available (JDK 17+ with {@code --add-modules jdk.incubator.vector}), and
+ * falls back to {@link TableGF256} otherwise (e.g. on JDK 8).
+ *
+ * @since 1.1.0
+ */
+public final class GF256Factory {
+
+    private static final String VECTOR_GF256 = "com.mythosil.sss4j.impl.VectorGF256";
+
+    private static final GF256 FASTEST = createFastest();
+
+    private GF256Factory() {
+        // make its constructor private
+    }
+
+    /**
+     * To get the fastest GF256 implementation on this runtime.
+     *
+     * <p>
+     * The returned instance is stateless and can be shared among threads.
+     *
+     * @return GF256 implementation
+     */
+    public static GF256 getFastest() {
+        return FASTEST;
+    }
+
+    private static GF256 createFastest() {
+        try {
+            Class<?> clazz = Class.forName(VECTOR_GF256);
+            GF256 gf256 = (GF256) clazz.getDeclaredConstructor().newInstance();
+            // make sure that the vector kernel works on this runtime
+            byte[] probe = new byte[256];
+            for (int i = 0; i < probe.length; i++) {
+                probe[i] = (byte) i;
+            }
+            gf256.mulRegion(probe, 0, 0x53, probe, 0, probe.length);
+            for (int i = 0; i < probe.length; i++) {
+                if (probe[i] != TableGF256.MUL[(0x53 << 8) | i]) {
+                    return new TableGF256();
+                }
+            }
+            return gf256;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // Vector API is not available (JDK 8-16, or jdk.incubator.vector is not added)
+        }
+        return new TableGF256();
+    }
+
+}
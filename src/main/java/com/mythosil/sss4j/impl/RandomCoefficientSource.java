@@ -0,0 +1,51 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.impl;
+
+import com.mythosil.sss4j.CoefficientSource;
+
+import java.util.Random;
+
+/**
+ * Coefficient source backed by a caller-supplied random number generator.
+ *
+ * <p>
+ * The generator should be cryptographically secure (e.g. {@link java.security.SecureRandom}).
+ *
+ * @since 1.1.0
+ */
+public class RandomCoefficientSource implements CoefficientSource {
+
+    private final Random random;
+
+    /**
+     * Constructor
+     *
+     * @param random    random number generator
+     */
+    public RandomCoefficientSource(Random random) {
+        if (random == null) {
+            throw new IllegalArgumentException("random should not be null");
+        }
+        this.random = random;
+    }
+
+    @Override
+    public void nextCoefficients(byte[] coefficients) {
+        random.nextBytes(coefficients);
+    }
+
+}
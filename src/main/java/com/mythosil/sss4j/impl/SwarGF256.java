@@ -0,0 +1,164 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.impl;
+
+import com.mythosil.sss4j.GF256;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * SWAR (SIMD within a register) implementation of GF256.
+ *
+ * <p>
+ * Region operations pack eight field elements into a {@code long} and multiply
+ * them at once with shift-and-add ("xtime") reduction by 0x1d, without any
+ * table lookups. Operands are not validated, so they must be in the documented
+ * range (0-255); results are byte-for-byte identical to {@link DefaultGF256}.
+ *
+ * <p>
+ * This implementation is slower than {@link TableGF256} on region operations
+ * (about 0.5 vs 1 GB/s for mulAddRegion on HotSpot), since a product of eight
+ * bytes costs eight shift-and-add steps while a table lookup costs one load per
+ * byte. It is kept as a table-free reference (e.g. where cache-timing of table
+ * lookups is a concern) and is never selected by {@link GF256Factory}.
+ *
+ * <ul>
+ * <li>prime: 100011101 <pre>x^8+x^4+x^3+x^2+1</pre></li>
+ * <li>generator: 00000010</li>
+ * </ul>
+ *
+ * @since 1.1.0
+ */
+public class SwarGF256 implements GF256 {
+
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long REDUCTION = 0x1d;
+
+    public int add(int x, int y) {
+        return x ^ y;
+    }
+
+    public int sub(int x, int y) {
+        return x ^ y;
+    }
+
+    /**
+     * To operate multiplication on GF256.
+     *
+     * <p>
+     * Russian peasant multiplication reduced by x^8+x^4+x^3+x^2+1.
+     *
+     * @param x    multiplicand (0-255)
+     * @param y    multiplier (0-255)
+     * @return product (0-255)
+     */
+    public int mul(int x, int y) {
+        return (int) mul8(x, y);
+    }
+
+    /**
+     * To operate division on GF256.
+     *
+     * <p>
+     * X * Y^254 == X / Y
+     *
+     * @param x    dividend (0-255)
+     * @param y    divisor (1-255)
+     * @return quotient (0-255)
+     */
+    public int div(int x, int y) {
+        if (y == 0) {
+            throw new ArithmeticException("div by zero");
+        }
+        // y^254 = y^(2+4+8+16+32+64+128)
+        int inverse = 1;
+        int square = y;
+        for (int i = 1; i < 8; i++) {
+            square = mul(square, square);
+            inverse = mul(inverse, square);
+        }
+        return mul(x, inverse);
+    }
+
+    @Override
+    public void mulRegion(byte[] src, int srcOff, int c, byte[] dst, int dstOff, int len) {
+        ByteBuffer in = littleEndian(src);
+        ByteBuffer out = littleEndian(dst);
+        int i = 0;
+        for (; i + 8 <= len; i += 8) {
+            out.putLong(dstOff + i, mul8(in.getLong(srcOff + i), c));
+        }
+        for (; i < len; i++) {
+            dst[dstOff + i] = (byte) mul8(src[srcOff + i] & 0xFF, c);
+        }
+    }
+
+    @Override
+    public void mulAddRegion(byte[] src, int srcOff, int c, byte[] dst, int dstOff, int len) {
+        if (c == 0) {
+            return;
+        }
+        ByteBuffer in = littleEndian(src);
+        ByteBuffer out = littleEndian(dst);
+        int i = 0;
+        for (; i + 8 <= len; i += 8) {
+            out.putLong(dstOff + i, out.getLong(dstOff + i) ^ mul8(in.getLong(srcOff + i), c));
+        }
+        for (; i < len; i++) {
+            dst[dstOff + i] ^= (byte) mul8(src[srcOff + i] & 0xFF, c);
+        }
+    }
+
+    /**
+     * To multiply eight packed field elements by a constant.
+     *
+     * <p>
+     * Each bit of c selects a multiple of a with a mask instead of a branch, so
+     * the steps do not depend on c.
+     *
+     * @param a    packed multiplicands (8 bytes)
+     * @param c    multiplier (0-255)
+     * @return packed products (8 bytes)
+     */
+    static long mul8(long a, int c) {
+        long ret = 0;
+        for (int b = 0; b < 8; b++) {
+            ret ^= a & -((c >>> b) & 1L);
+            a = xtime8(a);
+        }
+        return ret;
+    }
+
+    /**
+     * To multiply eight packed field elements by x (= 2).
+     *
+     * @param a    packed field elements (8 bytes)
+     * @return packed products (8 bytes)
+     */
+    static long xtime8(long a) {
+        long carries = (a & HIGH_BITS) >>> 7;
+        return ((a & ~HIGH_BITS) << 1) ^ (carries * REDUCTION);
+    }
+
+    /**
+     * To view bytes as little-endian longs (read with absolute getLong/putLong).
+     */
+    private static ByteBuffer littleEndian(byte[] b) {
+        return ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.impl;
+
+import com.mythosil.sss4j.GF256;
+
+import java.util.Arrays;
+
+/**
+ * Table-driven implementation of GF256.
+ *
+ * <p>
+ * Every product is looked up in a precomputed 256x256 multiplication table and
+ * every quotient through a table of multiplicative inverses. Operands are not
+ * validated, so they must be in the documented range (0-255); results are
+ * byte-for-byte identical to {@link DefaultGF256}.
+ *
+ * <ul>
+ * <li>prime: 100011101 <pre>x^8+x^4+x^3+x^2+1</pre></li>
+ * <li>generator: 00000010</li>
+ * </ul>
+ *
+ * @since 1.1.0
+ */
+public class TableGF256 implements GF256 {
+
+    public int add(int x, int y) {
+        return x ^ y;
+    }
+
+    public int sub(int x, int y) {
+        return x ^ y;
+    }
+
+    /**
+     * To operate multiplication on GF256.
+     *
+     * <p>
+     * MUL[X * 256 + Y] == X * Y
+     *
+     * @param x    multiplicand (0-255)
+     * @param y    multiplier (0-255)
+     * @return product (0-255)
+     */
+    public int mul(int x, int y) {
+        return MUL[(x << 8) | y] & 0xFF;
+    }
+
+    /**
+     * To operate division on GF256.
+     *
+     * <p>
+     * X * INV[Y] == X / Y
+     *
+     * @param x    dividend (0-255)
+     * @param y    divisor (1-255)
+     * @return quotient (0-255)
+     */
+    public int div(int x, int y) {
+        if (y == 0) {
+            throw new ArithmeticException("div by zero");
+        }
+        return MUL[(x << 8) | INV[y]] & 0xFF;
+    }
+
+    @Override
+    public void mulRegion(byte[] src, int srcOff, int c, byte[] dst, int dstOff, int len) {
+        if (c == 0) {
+            Arrays.fill(dst, dstOff, dstOff + len, (byte) 0);
+            return;
+        } else if (c == 1) {
+            System.arraycopy(src, srcOff, dst, dstOff, len);
+            return;
+        }
+        int row = c << 8;
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = MUL[row | (src[srcOff + i] & 0xFF)];
+        }
+    }
+
+    @Override
+    public void mulAddRegion(byte[] src, int srcOff, int c, byte[] dst, int dstOff, int len) {
+        if (c == 0) {
+            return;
+        }
+        int row = c << 8;
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] ^= MUL[row | (src[srcOff + i] & 0xFF)];
+        }
+    }
+
+    /**
+     * multiplication table (row: multiplicand, column: multiplier)
+     */
+    static final byte[] MUL = new byte[256 * 256];
+
+    /**
+     * multiplicative inverse table (INV[0] is undefined and set to 0)
+     */
+    static final int[] INV = new int[256];
+
+    static {
+        for (int x = 1; x < 256; x++) {
+            for (int y = 1; y < 256; y++) {
+                MUL[(x << 8) | y] = (byte) DefaultGF256.EXP[(DefaultGF256.LOG[x] + DefaultGF256.LOG[y]) % 255];
+            }
+            INV[x] = DefaultGF256.EXP[(255 - DefaultGF256.LOG[x]) % 255];
+        }
+    }
+
+}
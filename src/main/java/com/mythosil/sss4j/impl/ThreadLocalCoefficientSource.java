@@ -0,0 +1,146 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.impl;
+
+import com.mythosil.sss4j.CoefficientSource;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.function.Supplier;
+
+/**
+ * Coefficient source backed by a {@link SecureRandom} per thread.
+ *
+ * <p>
+ * By default, each thread has its own DRBG (or SHA1PRNG before Java 9) seeded
+ * from a non-blocking platform source. Unlike NativePRNG, which is the default
+ * SecureRandom on Linux and whose instances all share one locked reader, these
+ * generators keep their state per instance, so threads never contend while
+ * generating coefficients. Each generator is reseeded from the non-blocking
+ * source after it has produced {@code reseedInterval} bytes. A thread holds
+ * the lock of the source only to read 32 bytes per interval, and never waits
+ * for entropy as {@code generateSeed} of the default SecureRandom may on
+ * /dev/random.
+ *
+ * @since 1.1.0
+ */
+public class ThreadLocalCoefficientSource implements CoefficientSource {
+
+    /**
+     * default number of bytes generated before reseeding (1MB)
+     */
+    public static final long DEFAULT_RESEED_INTERVAL = 1024 * 1024;
+
+    /**
+     * number of bytes of seed drawn from the platform source
+     */
+    private static final int SEED_SIZE = 32;
+
+    /**
+     * non-blocking platform source of seeds, used only to seed and reseed generators
+     */
+    private static final SecureRandom SEED_SOURCE = newSeedSource();
+
+    private final long reseedInterval;
+    private final ThreadLocal<Generator> generators;
+
+    /**
+     * Constructor with default generator and reseed interval.
+     */
+    public ThreadLocalCoefficientSource() {
+        this(ThreadLocalCoefficientSource::newGenerator, DEFAULT_RESEED_INTERVAL);
+    }
+
+    /**
+     * Constructor
+     *
+     * <p>
+     * The factory is called once per thread. Generators should not share state
+     * among instances (e.g. NativePRNG does), or threads contend on it.
+     *
+     * @param factory           factory of SecureRandom
+     * @param reseedInterval    number of bytes generated before reseeding (&gt; 0)
+     */
+    public ThreadLocalCoefficientSource(Supplier<? extends SecureRandom> factory, long reseedInterval) {
+        if (factory == null) {
+            throw new IllegalArgumentException("factory should not be null");
+        } else if (reseedInterval <= 0) {
+            throw new IllegalArgumentException("reseedInterval should be larger than 0");
+        }
+        this.reseedInterval = reseedInterval;
+        this.generators = ThreadLocal.withInitial(() -> new Generator(factory.get()));
+    }
+
+    @Override
+    public void nextCoefficients(byte[] coefficients) {
+        Generator g = generators.get();
+        if (g.generated >= reseedInterval) {
+            g.random.setSeed(SEED_SOURCE.generateSeed(SEED_SIZE));
+            g.generated = 0;
+        }
+        g.random.nextBytes(coefficients);
+        g.generated += coefficients.length;
+    }
+
+    /**
+     * To create the default generator: DRBG if available, otherwise SHA1PRNG,
+     * seeded from the non-blocking platform source.
+     *
+     * @return generator
+     */
+    static SecureRandom newGenerator() {
+        SecureRandom random;
+        try {
+            random = SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            try {
+                random = SecureRandom.getInstance("SHA1PRNG");
+            } catch (NoSuchAlgorithmException e2) {
+                throw new IllegalStateException("neither DRBG nor SHA1PRNG is available", e2);
+            }
+        }
+        // seeded before first use, so SHA1PRNG does not seed itself
+        random.setSeed(SEED_SOURCE.generateSeed(SEED_SIZE));
+        return random;
+    }
+
+    /**
+     * To create the source of seeds: NativePRNGNonBlocking (/dev/urandom) if
+     * available, otherwise the default SecureRandom, which does not block on
+     * the platforms without NativePRNG (e.g. Windows-PRNG on Windows).
+     *
+     * @return source of seeds
+     */
+    static SecureRandom newSeedSource() {
+        try {
+            return SecureRandom.getInstance("NativePRNGNonBlocking");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    private static class Generator {
+
+        private final SecureRandom random;
+        private long generated;
+
+        Generator(SecureRandom random) {
+            this.random = random;
+        }
+
+    }
+
+}
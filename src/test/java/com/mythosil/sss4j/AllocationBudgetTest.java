@@ -0,0 +1,134 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import com.mythosil.sss4j.impl.RandomCoefficientSource;
+import com.mythosil.sss4j.impl.TableGF256;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Allocation budgets of hot paths.
+ *
+ * <p>
+ * Bytes allocated per operation are measured with
+ * {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes} after warming
+ * up, and compared with budgets recorded for a 1KB secret split into (3,5),
+ * both on engines built once and on the static API used by most callers.
+ * The budgets have some headroom for JVM differences; raise one only when an
+ * allocation is added on purpose.
+ */
+public class AllocationBudgetTest {
+
+    private static final int SIZE = 1024;
+    private static final int WARMUP = 20000;
+    private static final int ITERATIONS = 2000;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+    private byte[] secret;
+    private Splitter splitter;
+    private Combiner combiner;
+    private List<Share> shares;
+
+    @Before
+    public void setUp() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        secret = new byte[SIZE];
+        new Random(0).nextBytes(secret);
+        // SecureRandom allocates on its own, so coefficients are drawn from Random here
+        splitter = Splitter.of(3, 5, new TableGF256(), new RandomCoefficientSource(new Random(1)));
+        combiner = Combiner.forIndices(new int[]{1, 3, 5}, new TableGF256());
+        List<Share> all = splitter.split(secret);
+        shares = Arrays.asList(all.get(0), all.get(2), all.get(4));
+    }
+
+    @Test
+    public void testSplitInto() {
+        byte[][] shareOut = new byte[5][SIZE];
+        assertBudget("splitInto", 64, () -> splitter.splitInto(secret, 0, SIZE, shareOut));
+    }
+
+    @Test
+    public void testSplit() {
+        // 5 share values (1KB each) and the list of shares
+        assertBudget("split", 5 * (SIZE + 64) + 512, () -> splitter.split(secret));
+    }
+
+    @Test
+    public void testCombineInto() {
+        byte[] dst = new byte[SIZE];
+        assertBudget("combineInto", 64, () -> combiner.combineInto(shares, dst, 0));
+    }
+
+    @Test
+    public void testCombine() {
+        assertBudget("combine", SIZE + 64 + 256, () -> combiner.combine(shares));
+    }
+
+    @Test
+    public void testInterpolate() {
+        int[] xs = {1, 3, 5};
+        byte[][] ys = {shares.get(0).getValue(), shares.get(1).getValue(), shares.get(2).getValue()};
+        byte[] dst = new byte[SIZE];
+        TableGF256 gf256 = new TableGF256();
+        // only the weights
+        assertBudget("interpolate", 128, () -> GF256Polynomial.interpolate(xs, ys, 0, SIZE, 0, dst, 0, gf256));
+    }
+
+    @Test
+    public void testIssue() {
+        TableGF256 gf256 = new TableGF256();
+        // a share value (1KB) and small bookkeeping
+        assertBudget("issue", SIZE + 64 + 2048, () -> Sss4j.issue(shares, 2, gf256));
+    }
+
+    @Test
+    public void testStaticSplitAndCombine() {
+        // 5 share values (1KB each) and the list of shares, and a splitter per call
+        // with the default GF256 and coefficient source (DRBG)
+        assertBudget("Sss4j.split", 5 * (SIZE + 64) + 1536, () -> Sss4j.split(secret, 3, 5));
+        // the secret (1KB), and a combiner per call with its positions table (1KB)
+        assertBudget("Sss4j.combine", 2 * (SIZE + 64) + 512, () -> Sss4j.combine(shares));
+    }
+
+    private void assertBudget(String name, long budget, Runnable op) {
+        for (int i = 0; i < WARMUP; i++) {
+            op.run();
+        }
+        long id = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(id);
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        long perOp = (threadMXBean.getThreadAllocatedBytes(id) - before) / ITERATIONS;
+        assertTrue(name + " allocated " + perOp + " bytes per operation (budget: " + budget + ")",
+                perOp <= budget);
+    }
+
+}
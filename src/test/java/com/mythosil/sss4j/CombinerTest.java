@@ -0,0 +1,110 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CombinerTest {
+
+    @Test
+    public void testCombine_reuse() {
+        Combiner combiner = Combiner.forIndices(2, 4, 5);
+        assertThat(combiner.getIndices(), is(new int[]{2, 4, 5}));
+
+        for (String s : new String[]{"first secret", "second secret", "x"}) {
+            byte[] secret = s.getBytes();
+            List<Share> shares = Sss4j.split(secret, 3, 5);
+            List<Share> ls = new ArrayList<>(Arrays.asList(shares.get(1), shares.get(3), shares.get(4)));
+            assertThat(combiner.combine(ls), is(secret));
+        }
+    }
+
+    @Test
+    public void testCombine_any_order() {
+        byte[] secret = "this is secret".getBytes();
+        List<Share> shares = Sss4j.split(secret, 2, 3);
+
+        Combiner combiner = Combiner.forIndices(1, 3);
+        assertThat(combiner.combine(Arrays.asList(shares.get(2), shares.get(0))), is(secret));
+    }
+
+    @Test
+    public void testCombineInto() {
+        byte[] secret = "this is secret".getBytes();
+        List<Share> shares = Sss4j.split(secret, 2, 3).subList(1, 3);
+        byte[] dst = new byte[secret.length + 4];
+
+        int len = Combiner.forIndices(2, 3).combineInto(shares, dst, 2);
+
+        assertThat(len, is(secret.length));
+        assertThat(Arrays.copyOfRange(dst, 2, 2 + len), is(secret));
+    }
+
+    @Test
+    public void testCombineInto_direct_buffers() {
+        byte[] secret = new byte[10000];
+        new Random(3).nextBytes(secret);
+        List<Share> shares = Sss4j.split(secret, 3, 4);
+        ByteBuffer[] values = new ByteBuffer[3];
+        for (int j = 0; j < 3; j++) {
+            byte[] value = shares.get(j + 1).getValue();
+            values[j] = ByteBuffer.allocateDirect(value.length);
+            values[j].put(value).flip();
+        }
+        ByteBuffer dst = ByteBuffer.allocateDirect(secret.length);
+
+        int len = Combiner.forIndices(2, 3, 4).combineInto(values, dst);
+
+        assertThat(len, is(secret.length));
+        assertThat(dst.position(), is(0));
+        byte[] combined = new byte[len];
+        dst.get(combined);
+        assertThat(combined, is(secret));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineIntoException_short_dst() {
+        List<Share> shares = Sss4j.split("this is secret".getBytes(), 2, 3);
+        Combiner.forIndices(1, 2).combineInto(shares.subList(0, 2), new byte[10], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineException_other_indices() {
+        List<Share> shares = Sss4j.split("this is secret".getBytes(), 2, 3);
+        Combiner.forIndices(1, 2).combine(shares.subList(1, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineException_duplicated_shares() {
+        List<Share> shares = Sss4j.split("this is secret".getBytes(), 2, 3);
+        Combiner.forIndices(1, 2).combine(Arrays.asList(shares.get(0), shares.get(0)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForIndicesException_duplicated_indices() {
+        Combiner.forIndices(1, 2, 1);
+    }
+
+}
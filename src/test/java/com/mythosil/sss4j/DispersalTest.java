@@ -0,0 +1,73 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import com.mythosil.sss4j.impl.TableGF256;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DispersalTest {
+
+    @Test
+    public void testDisperseAndRecover() {
+        Dispersal dispersal = Dispersal.of(3, 5, new TableGF256());
+        Random random = new Random(0);
+        for (int length : new int[]{0, 1, 2, 5, 100, 10000}) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+
+            List<Share> fragments = dispersal.disperse(data);
+            assertThat(fragments.size(), is(5));
+            assertThat(fragments.get(0).getValue().length, is((length + 4 + 2) / 3));
+            assertThat(dispersal.fragmentSize(length), is((length + 4 + 2) / 3));
+
+            List<Share> shuffled = new ArrayList<>(fragments);
+            Collections.shuffle(shuffled, random);
+            assertThat(dispersal.recover(shuffled.subList(0, 3)), is(data));
+            assertThat(dispersal.recover(shuffled), is(data));
+        }
+    }
+
+    @Test
+    public void testDisperseAndRecover_k1() {
+        byte[] data = "not secret".getBytes();
+        Dispersal dispersal = Dispersal.of(1, 3);
+        List<Share> fragments = dispersal.disperse(data);
+        assertThat(dispersal.recover(fragments.subList(2, 3)), is(data));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecoverException_insufficient_fragments() {
+        Dispersal dispersal = Dispersal.of(3, 5);
+        dispersal.recover(dispersal.disperse("data".getBytes()).subList(0, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecoverException_duplicated_fragments() {
+        Dispersal dispersal = Dispersal.of(2, 3);
+        List<Share> fragments = dispersal.disperse("data".getBytes());
+        dispersal.recover(Arrays.asList(fragments.get(0), fragments.get(0)));
+    }
+
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import com.mythosil.sss4j.impl.DefaultGF256;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class GF256MatrixTest {
+
+    private GF256 gf256;
+
+    @Before
+    public void setUp() {
+        this.gf256 = new DefaultGF256();
+    }
+
+    @Test
+    public void testSolve() {
+        int[] coefficients = {0x12, 0x34, 0x56};
+        GF256Polynomial p = new GF256Polynomial(coefficients, gf256);
+        List<Point> points = new ArrayList<>();
+        for (int x : new int[]{1, 2, 3}) {
+            points.add(new Point(x, p.evaluate(x)));
+        }
+
+        // columns are in descending order of degree
+        int[] solved = new GF256Matrix(points, gf256).solve().getLastColumn();
+        assertThat(solved, is(new int[]{0x56, 0x34, 0x12}));
+    }
+
+    @Test
+    public void testSolve_random_polynomials() {
+        Random random = new Random(7);
+        for (int t = 0; t < 100; t++) {
+            int size = 1 + random.nextInt(10);
+            int[] coefficients = new int[size];
+            for (int i = 0; i < size; i++) {
+                coefficients[i] = random.nextInt(256);
+            }
+            GF256Polynomial p = new GF256Polynomial(coefficients, gf256);
+
+            // x = 0 is included, the elimination should skip zero elements
+            List<Point> points = new ArrayList<>();
+            for (int x = size - 1; x >= 0; x--) {
+                points.add(new Point(x, p.evaluate(x)));
+            }
+            GF256Matrix m = new GF256Matrix(points, gf256);
+            int[][] before = m.getData();
+
+            int[] solved = m.solve().getLastColumn();
+            for (int i = 0; i < size; i++) {
+                assertThat(solved[i], is(coefficients[size - 1 - i]));
+            }
+            assertThat(m.getData(), is(before));
+        }
+    }
+
+    @Test
+    public void testEquals() {
+        int[][] data = {{1, 2, 3}, {4, 5, 6}};
+        GF256Matrix m = new GF256Matrix(data, gf256);
+        assertThat(m.equals(new GF256Matrix(data, gf256)), is(true));
+        assertThat(m.hashCode(), is(new GF256Matrix(data, gf256).hashCode()));
+        assertThat(m.equals(new GF256Matrix(new int[][]{{1, 2, 3}, {4, 5, 7}}, gf256)), is(false));
+        assertThat(m.equals("matrix"), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalid_value() {
+        new GF256Matrix(new int[][]{{1, 256}}, gf256);
+    }
+
+    @Test
+    public void testInvertVandermonde() {
+        int[] xs = {3, 1, 7, 200, 255};
+        int[][] inverse = GF256Matrix.invertVandermonde(xs, gf256);
+
+        // V^{-1} V = I
+        for (int i = 0; i < xs.length; i++) {
+            for (int j = 0; j < xs.length; j++) {
+                int y = 0;
+                for (int l = 0; l < xs.length; l++) {
+                    int power = 1;
+                    for (int e = 0; e < j; e++) {
+                        power = gf256.mul(power, xs[l]);
+                    }
+                    y = gf256.add(y, gf256.mul(inverse[i][l], power));
+                }
+                assertThat(y, is(i == j ? 1 : 0));
+            }
+        }
+
+        // cached copy is not shared
+        inverse[0][0] ^= 1;
+        assertThat(GF256Matrix.invertVandermonde(xs, gf256)[0][0], is(inverse[0][0] ^ 1));
+    }
+
+    @Test
+    public void testMultiply_recover_coefficients() {
+        int[] xs = {2, 4, 6};
+        int length = 100;
+        byte[][] coefficients = new byte[xs.length][length];
+        Random random = new Random(6);
+        for (byte[] c : coefficients) {
+            random.nextBytes(c);
+        }
+
+        byte[][] ys = new byte[xs.length][length];
+        for (int l = 0; l < length; l++) {
+            int[] c = {coefficients[0][l] & 0xFF, coefficients[1][l] & 0xFF, coefficients[2][l] & 0xFF};
+            GF256Polynomial p = new GF256Polynomial(c, gf256);
+            for (int i = 0; i < xs.length; i++) {
+                ys[i][l] = (byte) p.evaluate(xs[i]);
+            }
+        }
+
+        int[][] inverse = GF256Matrix.invertVandermonde(xs, gf256);
+        byte[][] recovered = new byte[xs.length][length];
+        GF256Matrix.multiply(inverse, ys, 0, length, recovered, 0, gf256);
+        assertThat(recovered, is(coefficients));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvertVandermonde_duplicated_x() {
+        GF256Matrix.invertVandermonde(new int[]{1, 2, 1}, gf256);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvertVandermonde_zero_x() {
+        GF256Matrix.invertVandermonde(new int[]{0, 1, 2}, gf256);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvertVandermonde_large_x() {
+        GF256Matrix.invertVandermonde(new int[]{1, 2, 256}, gf256);
+    }
+
+}
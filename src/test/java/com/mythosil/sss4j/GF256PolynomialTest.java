@@ -0,0 +1,139 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import com.mythosil.sss4j.impl.DefaultGF256;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class GF256PolynomialTest {
+
+    private GF256 gf256;
+
+    @Before
+    public void setUp() {
+        this.gf256 = new DefaultGF256();
+    }
+
+    @Test
+    public void testWeights() {
+        int[] coefficients = {0x53, 0xca, 0x01, 0xfe};
+        GF256Polynomial p = new GF256Polynomial(coefficients, gf256);
+        int[] xs = {1, 3, 7, 200};
+
+        for (int x : new int[]{0, 2, 3, 255}) {
+            int[] weights = GF256Polynomial.weights(xs, x, gf256);
+            int y = 0;
+            for (int i = 0; i < xs.length; i++) {
+                y = gf256.add(y, gf256.mul(weights[i], p.evaluate(xs[i])));
+            }
+            assertThat(y, is(p.evaluate(x)));
+        }
+    }
+
+    @Test
+    public void testWeights_same_as_interpolate() {
+        int[] xs = {2, 5, 9};
+        int[] ys = {0x11, 0x80, 0xff};
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < xs.length; i++) {
+            points.add(new Point(xs[i], ys[i]));
+        }
+
+        int[] weights = GF256Polynomial.weights(xs, 0, gf256);
+        int y = 0;
+        for (int i = 0; i < xs.length; i++) {
+            y = gf256.add(y, gf256.mul(weights[i], ys[i]));
+        }
+        assertThat(y, is(GF256Polynomial.interpolate(points, 0, gf256)));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testWeights_duplicated_x() {
+        GF256Polynomial.weights(new int[]{1, 2, 1}, 0, gf256);
+    }
+
+    @Test
+    public void testInterpolate_primitive() {
+        GF256Polynomial p = new GF256Polynomial(new int[]{0x12, 0x34, 0x56}, gf256);
+        int[] xs = {3, 1, 250};
+        int[] ys = new int[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            ys[i] = p.evaluate(xs[i]);
+        }
+        assertThat(GF256Polynomial.interpolate(xs, ys, 0, gf256), is(0x12));
+        assertThat(GF256Polynomial.interpolate(xs, ys, 7, gf256), is(p.evaluate(7)));
+    }
+
+    @Test
+    public void testInterpolate_columns() {
+        int[][] coefficients = {{0x53, 0xca}, {0x00, 0x7f}, {0xff, 0x01}};
+        int[] xs = {4, 9};
+        byte[][] ys = new byte[xs.length][coefficients.length + 1];
+        for (int i = 0; i < xs.length; i++) {
+            for (int l = 0; l < coefficients.length; l++) {
+                ys[i][1 + l] = (byte) new GF256Polynomial(coefficients[l], gf256).evaluate(xs[i]);
+            }
+        }
+        byte[] dst = new byte[coefficients.length];
+
+        GF256Polynomial.interpolate(xs, ys, 1, coefficients.length, 0, dst, 0, gf256);
+
+        for (int l = 0; l < coefficients.length; l++) {
+            assertThat(dst[l] & 0xFF, is(coefficients[l][0]));
+        }
+    }
+
+    @Test
+    public void testPowers() {
+        int[][] powers = GF256Polynomial.powers(new int[]{0, 1, 2, 3}, 3, gf256);
+        assertThat(powers[0][0], is(1));
+        assertThat(powers[0][1], is(0));
+        assertThat(powers[1][3], is(1));
+        assertThat(powers[2][2], is(4));
+        assertThat(powers[3][3], is(gf256.mul(gf256.mul(3, 3), 3)));
+    }
+
+    @Test
+    public void testEvaluate_columns() {
+        int[][] coefficients = {{0x53, 0xca, 0x01}, {0x00, 0x7f, 0xff}, {0x10, 0x20, 0x30}};
+        byte[][] columns = new byte[3][coefficients.length];
+        for (int l = 0; l < coefficients.length; l++) {
+            for (int j = 0; j < 3; j++) {
+                columns[j][l] = (byte) coefficients[l][j];
+            }
+        }
+        int[] xs = {1, 2, 100, 255};
+        byte[][] dst = new byte[xs.length][coefficients.length + 1];
+
+        GF256Polynomial.evaluate(GF256Polynomial.powers(xs, 2, gf256), columns, 0, coefficients.length,
+                dst, 1, gf256);
+
+        for (int l = 0; l < coefficients.length; l++) {
+            GF256Polynomial p = new GF256Polynomial(coefficients[l], gf256);
+            for (int i = 0; i < xs.length; i++) {
+                assertThat(dst[i][1 + l] & 0xFF, is(p.evaluate(xs[i])));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class HybridTest {
+
+    @Test
+    public void testEncryptAndDecrypt() {
+        byte[] secret = new byte[100000];
+        new Random(0).nextBytes(secret);
+        Hybrid hybrid = Hybrid.of(3, 5);
+
+        Hybrid.Encrypted encrypted = hybrid.encrypt(secret);
+        assertThat(encrypted.getCiphertext().length, is(Hybrid.IV_SIZE + secret.length + 16));
+        assertThat(encrypted.getKeyShares().size(), is(5));
+        assertThat(encrypted.getKeyShares().get(0).getValue().length, is(Hybrid.KEY_SIZE));
+
+        List<Share> keyShares = encrypted.getKeyShares().subList(2, 5);
+        assertThat(hybrid.decrypt(encrypted.getCiphertext(), keyShares), is(secret));
+    }
+
+    @Test
+    public void testSplitAndCombine() {
+        byte[] secret = new byte[100000];
+        new Random(1).nextBytes(secret);
+        Hybrid hybrid = Hybrid.of(3, 5);
+
+        List<Share> shares = hybrid.split(secret);
+        assertThat(shares.size(), is(5));
+        assertThat(shares.get(0).getThreshold(), is(3));
+        int ciphertextLength = Hybrid.IV_SIZE + secret.length + 16;
+        assertThat(shares.get(0).getValue().length, is(Hybrid.KEY_SIZE + (ciphertextLength + 4 + 2) / 3));
+
+        List<Share> ls = new ArrayList<>();
+        ls.add(shares.get(4));
+        ls.add(shares.get(1));
+        ls.add(shares.get(3));
+        assertThat(hybrid.combine(ls), is(secret));
+    }
+
+    @Test
+    public void testSplitAndCombine_empty_secret() {
+        Hybrid hybrid = Hybrid.of(2, 3);
+        assertThat(hybrid.combine(hybrid.split(new byte[0]).subList(0, 2)), is(new byte[0]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineException_tampered_share() {
+        Hybrid hybrid = Hybrid.of(2, 3);
+        List<Share> shares = hybrid.split("this is secret".getBytes());
+        shares.get(0).getValue()[Hybrid.KEY_SIZE] ^= 1;
+        hybrid.combine(shares.subList(0, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecryptException_insufficient_key_shares() {
+        Hybrid hybrid = Hybrid.of(3, 5);
+        Hybrid.Encrypted encrypted = hybrid.encrypt("this is secret".getBytes());
+        hybrid.decrypt(encrypted.getCiphertext(), encrypted.getKeyShares().subList(0, 2));
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import com.mythosil.sss4j.Instrumentation.Operation;
+import com.mythosil.sss4j.Instrumentation.Phase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class InstrumentationTest {
+
+    @Test
+    public void testRecord() {
+        final List<Operation> operations = new ArrayList<>();
+        final List<Long> bytes = new ArrayList<>();
+        final List<long[]> phases = new ArrayList<>();
+        Sss4j.setInstrumentation((operation, b, elapsedNanos, phaseNanos) -> {
+            operations.add(operation);
+            bytes.add(b);
+            phases.add(phaseNanos.clone());
+            long sum = 0;
+            for (long nanos : phaseNanos) {
+                sum += nanos;
+            }
+            assertTrue(sum <= elapsedNanos);
+        });
+        try {
+            byte[] secret = new byte[10000];
+            List<Share> shares = Sss4j.split(secret, 2, 3);
+            Sss4j.combine(shares.subList(0, 2));
+            Sss4j.issue(shares.subList(0, 2), 4);
+        } finally {
+            Sss4j.setInstrumentation(null);
+        }
+
+        assertThat(operations.size(), is(3));
+        assertThat(operations.get(0), is(Operation.SPLIT));
+        assertThat(operations.get(1), is(Operation.COMBINE));
+        assertThat(operations.get(2), is(Operation.ISSUE));
+        for (long b : bytes) {
+            assertThat(b, is(10000L));
+        }
+        assertTrue(phases.get(0)[Phase.EVALUATION.ordinal()] > 0);
+        assertTrue(phases.get(1)[Phase.VALIDATION.ordinal()] > 0);
+        assertTrue(phases.get(1)[Phase.INTERPOLATION.ordinal()] > 0);
+        assertThat(phases.get(1)[Phase.RNG.ordinal()], is(0L));
+    }
+
+    @Test
+    public void testDisabled() {
+        Sss4j.setInstrumentation(null);
+        List<Share> shares = Splitter.of(2, 3).split("this is secret".getBytes());
+        assertThat(Combiner.forIndices(1, 2).combine(shares.subList(0, 2)), is("this is secret".getBytes()));
+    }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import com.mythosil.sss4j.impl.TableGF256;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PackedSharingTest {
+
+    @Test
+    public void testSplitAndCombine() {
+        Random random = new Random(0);
+        for (int[] params : new int[][]{{2, 3, 1}, {5, 8, 3}, {8, 10, 4}, {128, 128, 127}}) {
+            PackedSharing packed = PackedSharing.of(params[0], params[1], params[2], new TableGF256());
+            for (int length : new int[]{0, 1, 7, 100, 10000}) {
+                byte[] secret = new byte[length];
+                random.nextBytes(secret);
+
+                List<Share> shares = packed.split(secret);
+                assertThat(shares.size(), is(packed.getN()));
+                assertThat(shares.get(0).getValue().length, is(packed.shareSize(length)));
+                assertThat(packed.shareSize(length), is((length + 4 + packed.getL() - 1) / packed.getL()));
+
+                List<Share> shuffled = new ArrayList<>(shares);
+                Collections.shuffle(shuffled, random);
+                assertThat(packed.combine(shuffled.subList(0, packed.getK())), is(secret));
+                assertThat(packed.combine(shuffled), is(secret));
+            }
+        }
+    }
+
+    @Test
+    public void testSplit_random() {
+        PackedSharing packed = PackedSharing.of(3, 5, 2);
+        byte[] secret = "secret".getBytes();
+        assertThat(Arrays.equals(packed.split(secret).get(0).getValue(),
+                packed.split(secret).get(0).getValue()), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfException_k_not_larger_than_l() {
+        PackedSharing.of(3, 5, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfException_n_too_large() {
+        PackedSharing.of(3, 254, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineException_insufficient_shares() {
+        PackedSharing packed = PackedSharing.of(4, 6, 2);
+        packed.combine(packed.split("secret".getBytes()).subList(0, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineException_duplicated_shares() {
+        PackedSharing packed = PackedSharing.of(2, 3, 1);
+        List<Share> shares = packed.split("secret".getBytes());
+        packed.combine(Arrays.asList(shares.get(0), shares.get(0)));
+    }
+
+}
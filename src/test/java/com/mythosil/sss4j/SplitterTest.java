@@ -0,0 +1,207 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SplitterTest {
+
+    @Test
+    public void testSplit_reuse() {
+        Splitter splitter = Splitter.of(3, 5);
+        assertThat(splitter.getK(), is(3));
+        assertThat(splitter.getN(), is(5));
+
+        Random random = new Random(1);
+        for (int size : new int[]{1, 32, 4095, 4096, 10000, 32}) {
+            byte[] secret = new byte[size];
+            random.nextBytes(secret);
+
+            List<Share> shares = splitter.split(secret);
+            assertThat(shares.size(), is(5));
+            assertThat(Sss4j.combine(shares.subList(2, 5)), is(secret));
+        }
+    }
+
+    @Test
+    public void testSplit_shared_among_threads() throws Exception {
+        final Splitter splitter = Splitter.of(2, 3);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                final byte[] secret = ("secret of task " + t).getBytes();
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        List<Share> shares = splitter.split(secret);
+                        if (!Arrays.equals(Sss4j.combine(shares.subList(0, 2)), secret)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(), is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSplitInto() {
+        Splitter splitter = Splitter.of(3, 4);
+        byte[] buffer = "xxthis is secretxx".getBytes();
+        byte[] secret = Arrays.copyOfRange(buffer, 2, 16);
+        byte[][] shareOut = new byte[4][20];
+
+        splitter.splitInto(buffer, 2, 14, shareOut);
+
+        List<Share> shares = new ArrayList<>();
+        for (int i = 1; i < 4; i++) {
+            shares.add(new Share(i + 1, Arrays.copyOf(shareOut[i], 14)));
+        }
+        assertThat(Sss4j.combine(shares), is(secret));
+    }
+
+    @Test
+    public void testSplitInto_direct_buffers() {
+        Splitter splitter = Splitter.of(2, 3);
+        byte[] secret = new byte[10000];
+        new Random(2).nextBytes(secret);
+        ByteBuffer in = ByteBuffer.allocateDirect(secret.length + 1);
+        in.put((byte) 0).put(secret).flip();
+        in.position(1);
+        ByteBuffer[] shareOut = new ByteBuffer[3];
+        for (int i = 0; i < 3; i++) {
+            shareOut[i] = ByteBuffer.allocateDirect(secret.length);
+        }
+
+        splitter.splitInto(in, shareOut);
+        assertThat(in.position(), is(1));
+        assertThat(shareOut[0].position(), is(0));
+
+        List<Share> shares = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            byte[] value = new byte[secret.length];
+            shareOut[i].get(value);
+            shares.add(new Share(i + 1, value));
+        }
+        assertThat(Sss4j.combine(shares), is(secret));
+    }
+
+    @Test
+    public void testSplitInto_direct_buffers_clears_staging() {
+        Splitter splitter = Splitter.of(2, 3);
+        byte[] secret = new byte[5000];
+        Arrays.fill(secret, (byte) 0x5A);
+        ByteBuffer in = ByteBuffer.allocateDirect(secret.length);
+        in.put(secret).flip();
+        ByteBuffer[] shareOut = new ByteBuffer[3];
+        for (int i = 0; i < 3; i++) {
+            shareOut[i] = ByteBuffer.allocateDirect(secret.length);
+        }
+
+        splitter.splitInto(in, shareOut);
+        for (byte[] block : Blocks.staging(4)) {
+            assertThat(block, is(new byte[block.length]));
+        }
+    }
+
+    @Test
+    public void testSplit_different_splitters_on_thread() {
+        Random random = new Random(2);
+        for (int[] params : new int[][]{{5, 8}, {2, 3}, {7, 15}, {3, 5}}) {
+            Splitter splitter = Splitter.of(params[0], params[1]);
+            for (int size : new int[]{100, 4096, 5000}) {
+                byte[] secret = new byte[size];
+                random.nextBytes(secret);
+                List<Share> shares = splitter.split(secret);
+                assertThat(Sss4j.combine(shares.subList(0, params[0])), is(secret));
+            }
+        }
+    }
+
+    @Test
+    public void testSplitter_not_retained_by_thread() throws Exception {
+        Splitter splitter = Splitter.of(2, 3);
+        splitter.split(new byte[100]);
+        splitter.split(new byte[10000]);
+        WeakReference<Splitter> ref = new WeakReference<>(splitter);
+        splitter = null;
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(ref.get() == null, is(true));
+    }
+
+    @Test
+    public void testSplit_static_scratch_shared() {
+        Sss4j.split(new byte[5000], 3, 5);
+        long size = Splitter.scratchSize();
+        for (int i = 0; i < 1000; i++) {
+            Sss4j.split(new byte[5000], 3, 5);
+            Sss4j.split(new byte[5000], 2, 3);
+        }
+        // the splitters created per call share the scratch of the thread
+        assertThat(Splitter.scratchSize(), is(size));
+    }
+
+    @Test
+    public void testSplit_parallel_chunks() {
+        Splitter splitter = Splitter.of(3, 5);
+        Random random = new Random(3);
+        // a multiple of chunkSize, a partial last chunk, and a single chunk
+        for (int size : new int[]{8000, 10001, 1000}) {
+            byte[] secret = new byte[size];
+            random.nextBytes(secret);
+            List<Share> shares = splitter.split(secret, ForkJoinPool.commonPool(), 1000);
+            assertThat(Sss4j.combine(shares.subList(1, 4)), is(secret));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSplitIntoException_short_shareOut() {
+        Splitter.of(2, 3).splitInto(new byte[10], 0, 10, new byte[3][9]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfException_large_k() {
+        Splitter.of(4, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSplitException_empty_secret() {
+        Splitter.of(2, 3).split(new byte[0]);
+    }
+
+}
@@ -15,11 +15,25 @@
  */
 package com.mythosil.sss4j;
 
+import com.mythosil.sss4j.impl.TableGF256;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
@@ -81,6 +95,172 @@ public class Sss4jTest {
         }
     }
 
+    @Test
+    public void testSplitAndCombine_large_secret() {
+        byte[] secret = new byte[10000];
+        new Random(0).nextBytes(secret);
+        int k = 3;
+        int n = 5;
+
+        List<Share> shares = Sss4j.split(secret, k, n);
+        assertThat(shares.size(), is(n));
+
+        byte[] combined = Sss4j.combine(shares.subList(2, 5));
+        assertThat(combined, is(secret));
+    }
+
+    @Test
+    public void testSplitStream() throws IOException {
+        byte[] secret = new byte[10000];
+        new Random(1).nextBytes(secret);
+        int k = 3;
+        int n = 5;
+
+        List<ByteArrayOutputStream> outs = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            outs.add(new ByteArrayOutputStream());
+        }
+        Sss4j.split(new ByteArrayInputStream(secret), outs, k);
+
+        List<Share> shares = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            byte[] value = outs.get(i).toByteArray();
+            assertThat(value.length, is(secret.length));
+            shares.add(new Share(i + 1, value));
+        }
+        assertThat(Sss4j.combine(shares.subList(0, 3)), is(secret));
+        assertThat(Sss4j.combine(shares.subList(1, 5)), is(secret));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSplitStreamException_empty_secret() throws IOException {
+        List<ByteArrayOutputStream> outs = Arrays.asList(
+                new ByteArrayOutputStream(), new ByteArrayOutputStream(), new ByteArrayOutputStream());
+        Sss4j.split(new ByteArrayInputStream(new byte[0]), outs, 2);
+    }
+
+    @Test
+    public void testCombineStream() throws IOException {
+        byte[] secret = new byte[10000];
+        new Random(2).nextBytes(secret);
+        List<Share> shares = Sss4j.split(secret, 3, 5);
+
+        Map<Integer, InputStream> ins = new LinkedHashMap<>();
+        for (Share s : shares.subList(1, 4)) {
+            ins.put(s.getIndex(), new ByteArrayInputStream(s.getValue()));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Sss4j.combine(ins, out);
+        assertThat(out.toByteArray(), is(secret));
+    }
+
+    @Test
+    public void testCombineChannel() throws IOException {
+        byte[] secret = "this is secret".getBytes();
+        List<Share> shares = Sss4j.split(secret, 2, 3);
+
+        Map<Integer, ReadableByteChannel> channels = new LinkedHashMap<>();
+        for (Share s : shares.subList(0, 2)) {
+            channels.put(s.getIndex(), Channels.newChannel(new ByteArrayInputStream(s.getValue())));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Sss4j.combine(channels, Channels.newChannel(out));
+        assertThat(out.toByteArray(), is(secret));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineStreamException_different_length() throws IOException {
+        Map<Integer, InputStream> ins = new LinkedHashMap<>();
+        ins.put(1, new ByteArrayInputStream(new byte[10]));
+        ins.put(2, new ByteArrayInputStream(new byte[9]));
+        Sss4j.combine(ins, new ByteArrayOutputStream());
+    }
+
+    @Test
+    public void testSplitAndCombineFile() throws IOException {
+        byte[] secret = new byte[10000];
+        new Random(3).nextBytes(secret);
+        Path dir = Files.createTempDirectory("sss4j");
+        try {
+            Path secretPath = Files.write(dir.resolve("secret"), secret);
+            List<Path> sharePaths = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                sharePaths.add(dir.resolve("share" + i));
+            }
+            Sss4j.split(secretPath, sharePaths, 3);
+
+            List<Share> shares = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                shares.add(new Share(i, Files.readAllBytes(sharePaths.get(i - 1))));
+            }
+            assertThat(Sss4j.combine(shares.subList(0, 3)), is(secret));
+
+            Map<Integer, Path> combinePaths = new LinkedHashMap<>();
+            combinePaths.put(5, sharePaths.get(4));
+            combinePaths.put(2, sharePaths.get(1));
+            combinePaths.put(4, sharePaths.get(3));
+            Path combinedPath = dir.resolve("combined");
+            Sss4j.combine(combinePaths, combinedPath);
+            assertThat(Files.readAllBytes(combinedPath), is(secret));
+        } finally {
+            try (DirectoryStream<Path> paths = Files.newDirectoryStream(dir)) {
+                for (Path p : paths) {
+                    Files.delete(p);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testSplitAndCombineFile_chunks() throws IOException {
+        // mapped in windows of 64KB: two full windows and a partial one
+        int windowSize = 64 * 1024;
+        byte[] secret = new byte[windowSize * 2 + 12345];
+        new Random(5).nextBytes(secret);
+        Path dir = Files.createTempDirectory("sss4j");
+        try {
+            Path secretPath = Files.write(dir.resolve("secret"), secret);
+            List<Path> sharePaths = Arrays.asList(dir.resolve("share1"), dir.resolve("share2"), dir.resolve("share3"));
+            Splitter.of(2, 3).split(secretPath, sharePaths, windowSize);
+
+            Map<Integer, Path> combinePaths = new LinkedHashMap<>();
+            combinePaths.put(3, sharePaths.get(2));
+            combinePaths.put(1, sharePaths.get(0));
+            Path combinedPath = dir.resolve("combined");
+            Combiner.forIndices(3, 1).combine(combinePaths, combinedPath, windowSize);
+            assertThat(Files.readAllBytes(combinedPath), is(secret));
+        } finally {
+            try (DirectoryStream<Path> paths = Files.newDirectoryStream(dir)) {
+                for (Path p : paths) {
+                    Files.delete(p);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testSplitParallel() {
+        byte[] secret = new byte[300000];
+        new Random(4).nextBytes(secret);
+
+        List<Share> shares = Sss4j.split(secret, 3, 5, ForkJoinPool.commonPool());
+        assertThat(shares.size(), is(5));
+        assertThat(Sss4j.combine(shares.subList(0, 3)), is(secret));
+        assertThat(Sss4j.combine(shares.subList(2, 5)), is(secret));
+
+        shares = Sss4j.split(secret, 2, 3, new TableGF256(), ForkJoinPool.commonPool(), 5000);
+        assertThat(Sss4j.combine(shares.subList(1, 3)), is(secret));
+    }
+
+    @Test
+    public void testSplitParallel_small_secret() {
+        byte[] secret = "this is secret".getBytes();
+        List<Share> shares = Sss4j.split(secret, 2, 3, ForkJoinPool.commonPool());
+        assertThat(Sss4j.combine(shares.subList(0, 2)), is(secret));
+    }
+
     @Test
     public void testCombine() {
         // (2, 3)-threshold
@@ -157,6 +337,194 @@ public class Sss4jTest {
         }
     }
 
+    @Test
+    public void testSplitAndIssueBatch() {
+        byte[] secret = new byte[5000];
+        new Random(5).nextBytes(secret);
+        int k = 3;
+
+        List<Share> shares = Sss4j.split(secret, k, 4);
+        List<Share> issued = Sss4j.issue(shares.subList(0, k), new int[]{10, 4, 255});
+        assertThat(issued.size(), is(3));
+        assertThat(issued.get(0).getIndex(), is(10));
+        assertThat(issued.get(1).getValue(), is(shares.get(3).getValue()));
+
+        List<Share> combined = new ArrayList<>(issued);
+        assertThat(Sss4j.combine(combined), is(secret));
+    }
+
+    @Test
+    public void testCombine_threshold() {
+        byte[] secret = "test".getBytes();
+        List<Share> shares = Sss4j.split(secret, 3, 15);
+        for (Share share : shares) {
+            assertThat(share.getThreshold(), is(3));
+        }
+
+        // shares beyond the threshold are ignored unless verified
+        List<Share> corrupted = new ArrayList<>(shares);
+        byte[] value = shares.get(10).getValue().clone();
+        value[0] ^= 1;
+        corrupted.set(10, new Share(11, value, 3));
+        assertThat(Sss4j.combine(corrupted), is(secret));
+        assertThat(Sss4j.combine(shares, true), is(secret));
+        assertThat(Sss4j.combine(shares.subList(5, 8), true), is(secret));
+    }
+
+    @Test
+    public void testCombine_unknown_threshold() {
+        byte[] secret = "test".getBytes();
+        List<Share> shares = new ArrayList<>();
+        for (Share share : Sss4j.split(secret, 3, 5)) {
+            shares.add(new Share(share.getIndex(), share.getValue()));
+        }
+        assertThat(shares.get(0).getThreshold(), is(0));
+        assertThat(Sss4j.combine(shares), is(secret));
+    }
+
+    @Test
+    public void testCombine_mixed_unknown_threshold() {
+        byte[] secret = "test".getBytes();
+        List<Share> shares = Sss4j.split(secret, 3, 5);
+        List<Share> mixed = new ArrayList<>(shares);
+        for (int i : new int[]{0, 3}) {
+            mixed.set(i, new Share(shares.get(i).getIndex(), shares.get(i).getValue()));
+        }
+        assertThat(Sss4j.combine(mixed), is(secret));
+        assertThat(Sss4j.combine(mixed, true), is(secret));
+        assertThat(Sss4j.issue(mixed, 6).getThreshold(), is(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineException_mixed_thresholds() {
+        List<Share> shares = new ArrayList<>(Sss4j.split("test".getBytes(), 3, 5));
+        shares.set(4, new Share(5, shares.get(4).getValue(), 2));
+        Sss4j.combine(shares);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineException_verify_unknown_threshold() {
+        List<Share> shares = new ArrayList<>();
+        for (Share share : Sss4j.split("test".getBytes(), 3, 5)) {
+            shares.add(new Share(share.getIndex(), share.getValue()));
+        }
+        Sss4j.combine(shares, true);
+    }
+
+    @Test
+    public void testIssue_threshold() {
+        List<Share> shares = Sss4j.split("test".getBytes(), 2, 3);
+        assertThat(Sss4j.issue(shares, 4).getThreshold(), is(2));
+    }
+
+    @Test
+    public void testIssue_beyond_threshold() {
+        byte[] secret = "test".getBytes();
+        List<Share> shares = new ArrayList<>(Sss4j.split(secret, 3, 5));
+        // shares beyond the threshold are ignored
+        byte[] value = shares.get(4).getValue().clone();
+        value[0] ^= 1;
+        shares.set(4, new Share(5, value, 3));
+        Share issued = Sss4j.issue(shares, 6);
+        assertThat(Sss4j.combine(Arrays.asList(issued, shares.get(1), shares.get(2))), is(secret));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIssueException_below_threshold() {
+        List<Share> shares = Sss4j.split("test".getBytes(), 3, 5);
+        Sss4j.issue(shares.subList(0, 2), 6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineException_inconsistent_shares() {
+        List<Share> shares = new ArrayList<>(Sss4j.split("test".getBytes(), 3, 5));
+        byte[] value = shares.get(4).getValue().clone();
+        value[3] ^= 1;
+        shares.set(4, new Share(5, value, 3));
+        Sss4j.combine(shares, true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineException_below_threshold() {
+        List<Share> shares = Sss4j.split("test".getBytes(), 3, 5);
+        Sss4j.combine(shares.subList(0, 2));
+    }
+
+    @Test
+    public void testRecover() {
+        byte[] secret = new byte[10000];
+        new Random(0).nextBytes(secret);
+        List<Share> shares = Sss4j.split(secret, 7, 15, new TableGF256());
+
+        Sss4j.Recovery recovery = Sss4j.recover(shares, 7, new TableGF256());
+        assertThat(recovery.getSecret(), is(secret));
+        assertThat(recovery.getFaultyIndices(), is(new int[0]));
+    }
+
+    @Test
+    public void testRecover_faulty_shares() {
+        byte[] secret = new byte[10000];
+        Random random = new Random(0);
+        random.nextBytes(secret);
+        List<Share> shares = Sss4j.split(secret, 7, 15, new TableGF256());
+
+        // corrupt 4 shares, including ones among the first k, at different columns
+        List<Share> corrupted = new ArrayList<>(shares);
+        for (int index : new int[]{2, 5, 9, 14}) {
+            byte[] value = shares.get(index - 1).getValue().clone();
+            value[random.nextInt(value.length)] ^= 1;
+            value[index * 100] ^= 0xFF;
+            corrupted.set(index - 1, new Share(index, value));
+        }
+
+        Sss4j.Recovery recovery = Sss4j.recover(corrupted, 7, new TableGF256());
+        assertThat(recovery.getSecret(), is(secret));
+        assertThat(recovery.getFaultyIndices(), is(new int[]{2, 5, 9, 14}));
+    }
+
+    @Test
+    public void testRecover_k_shares() {
+        byte[] secret = "test".getBytes();
+        List<Share> shares = Sss4j.split(secret, 3, 5);
+        assertThat(Sss4j.recover(shares.subList(1, 4), 3).getSecret(), is(secret));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecoverException_too_many_faulty_shares() {
+        byte[] secret = new byte[1000];
+        List<Share> shares = Sss4j.split(secret, 3, 6);
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < secret.length; j++) {
+                shares.get(i).getValue()[j] ^= (byte) (i + j + 1);
+            }
+        }
+        Sss4j.recover(shares, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecoverException_insufficient_shares() {
+        List<Share> shares = Sss4j.split("test".getBytes(), 3, 5);
+        Sss4j.recover(shares.subList(0, 2), 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIssueException_existing_index() {
+        List<Share> shares = Sss4j.split("test".getBytes(), 2, 3);
+        Sss4j.issue(shares, new int[]{4, 2});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIssueException_duplicate_share_indices() {
+        List<Share> shares = Sss4j.split("test".getBytes(), 2, 3);
+        Sss4j.issue(Arrays.asList(shares.get(0), shares.get(0)), 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIssueException_share_index_zero() {
+        List<Share> shares = Sss4j.split("test".getBytes(), 2, 3);
+        Sss4j.issue(Arrays.asList(new Share(0, shares.get(0).getValue(), 2), shares.get(1)), 4);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testSplitException_small_n() {
         Sss4j.split("test".getBytes(), 2, 2);
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.impl;
+
+import com.mythosil.sss4j.GF256;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class GF256FactoryTest {
+
+    @Test
+    public void testGetFastest() {
+        assertThat(GF256Factory.getFastest(), is(sameInstance(GF256Factory.getFastest())));
+    }
+
+    @Test
+    public void testGetFastest_compatible() {
+        DefaultGF256 expected = new DefaultGF256();
+        GF256 gf256 = GF256Factory.getFastest();
+
+        Random random = new Random(3);
+        byte[] src = new byte[1027];
+        byte[] acc = new byte[src.length];
+        random.nextBytes(src);
+        random.nextBytes(acc);
+
+        for (int c = 0; c < 256; c++) {
+            byte[] product = new byte[src.length];
+            byte[] expectedProduct = new byte[src.length];
+            gf256.mulRegion(src, 3, c, product, 0, src.length - 3);
+            expected.mulRegion(src, 3, c, expectedProduct, 0, src.length - 3);
+            assertThat(product, is(expectedProduct));
+
+            byte[] sum = acc.clone();
+            byte[] expectedSum = acc.clone();
+            gf256.mulAddRegion(src, c, sum);
+            expected.mulAddRegion(src, c, expectedSum);
+            assertThat(sum, is(expectedSum));
+        }
+    }
+
+}
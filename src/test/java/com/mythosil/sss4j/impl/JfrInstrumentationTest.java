@@ -0,0 +1,118 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.impl;
+
+import com.mythosil.sss4j.Share;
+import com.mythosil.sss4j.Sss4j;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class JfrInstrumentationTest {
+
+    private static final String EVENT_NAME = "com.mythosil.sss4j.Operation";
+
+    @Test
+    public void testRecord() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME);
+            events = record(recording);
+        }
+
+        assertThat(events.size(), is(2));
+        RecordedEvent split = events.get(0);
+        assertThat(split.getString("operation"), is("SPLIT"));
+        assertThat(split.getLong("bytes"), is(10000L));
+        assertTrue(split.getDuration("rng").toNanos() > 0);
+        assertTrue(split.getDuration("evaluation").toNanos() > 0);
+        assertThat(split.getDuration("interpolation").toNanos(), is(0L));
+        assertTrue(split.getDuration("elapsed").compareTo(split.getDuration("evaluation")) >= 0);
+        // the event spans the operation
+        assertTrue(split.getDuration().toNanos() > 0);
+
+        RecordedEvent combine = events.get(1);
+        assertThat(combine.getString("operation"), is("COMBINE"));
+        assertThat(combine.getLong("bytes"), is(10000L));
+        assertTrue(combine.getDuration("validation").toNanos() > 0);
+        assertTrue(combine.getDuration("solve").toNanos() > 0);
+        assertTrue(combine.getDuration("interpolation").toNanos() > 0);
+        assertThat(combine.getDuration("rng").toNanos(), is(0L));
+        assertThat(combine.getDuration("evaluation").toNanos(), is(0L));
+        assertTrue(combine.getDuration().toNanos() > 0);
+    }
+
+    @Test
+    public void testRecord_threshold() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME).withThreshold(Duration.ofHours(1));
+            events = record(recording);
+        }
+
+        assertThat(events.size(), is(0));
+    }
+
+    @Test
+    public void testRecord_disabled() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.disable(EVENT_NAME);
+            events = record(recording);
+        }
+
+        assertThat(events.size(), is(0));
+    }
+
+    private static List<RecordedEvent> record(Recording recording) throws IOException {
+        Path file = Files.createTempFile("sss4j", ".jfr");
+        try {
+            recording.start();
+            Sss4j.setInstrumentation(new JfrInstrumentation());
+            try {
+                List<Share> shares = Sss4j.split(new byte[10000], 2, 3);
+                Sss4j.combine(shares.subList(0, 2));
+            } finally {
+                Sss4j.setInstrumentation(null);
+            }
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals(EVENT_NAME)) {
+                    events.add(event);
+                }
+            }
+            return events;
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
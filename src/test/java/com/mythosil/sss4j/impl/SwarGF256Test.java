@@ -0,0 +1,153 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.impl;
+
+import com.mythosil.sss4j.Share;
+import com.mythosil.sss4j.Sss4j;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SwarGF256Test {
+
+    private DefaultGF256 expected;
+    private SwarGF256 gf256;
+
+    @Before
+    public void setUp() {
+        this.expected = new DefaultGF256();
+        this.gf256 = new SwarGF256();
+    }
+
+    @Test
+    public void testAddAndSub() {
+        for (int x = 0; x < 256; x++) {
+            for (int y = 0; y < 256; y++) {
+                assertThat(gf256.add(x, y), is(expected.add(x, y)));
+                assertThat(gf256.sub(x, y), is(expected.sub(x, y)));
+            }
+        }
+    }
+
+    @Test
+    public void testMul() {
+        for (int x = 0; x < 256; x++) {
+            for (int y = 0; y < 256; y++) {
+                assertThat(gf256.mul(x, y), is(expected.mul(x, y)));
+            }
+        }
+    }
+
+    @Test
+    public void testDiv() {
+        for (int x = 0; x < 256; x++) {
+            for (int y = 1; y < 256; y++) {
+                assertThat(gf256.div(x, y), is(expected.div(x, y)));
+            }
+        }
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testDivByZero() {
+        gf256.div(10, 0);
+    }
+
+    @Test
+    public void testMul8() {
+        for (int c = 0; c < 256; c++) {
+            for (int x = 0; x < 256; x += 8) {
+                long packed = 0;
+                for (int i = 0; i < 8; i++) {
+                    packed |= (long) (x + i) << (i * 8);
+                }
+                long product = SwarGF256.mul8(packed, c);
+                for (int i = 0; i < 8; i++) {
+                    assertThat((int) (product >>> (i * 8)) & 0xFF, is(expected.mul(x + i, c)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMulRegion() {
+        byte[] src = new byte[301];
+        new Random(1).nextBytes(src);
+
+        for (int c : new int[]{0, 1, 2, 0x53, 0xff}) {
+            byte[] actual = new byte[src.length + 2];
+            byte[] fallback = new byte[src.length + 2];
+            gf256.mulRegion(src, 0, c, actual, 2, src.length);
+            expected.mulRegion(src, 0, c, fallback, 2, src.length);
+            assertThat(actual, is(fallback));
+            for (int i = 0; i < src.length; i++) {
+                assertThat(actual[i + 2] & 0xFF, is(expected.mul(c, src[i] & 0xFF)));
+            }
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(src.length);
+            gf256.mulRegion(ByteBuffer.wrap(src), c, direct);
+            byte[] fromDirect = new byte[src.length];
+            direct.get(fromDirect);
+            assertThat(fromDirect, is(Arrays.copyOfRange(actual, 2, actual.length)));
+        }
+    }
+
+    @Test
+    public void testMulAddRegion() {
+        Random random = new Random(2);
+        byte[] src = new byte[301];
+        byte[] acc = new byte[301];
+        random.nextBytes(src);
+        random.nextBytes(acc);
+
+        for (int c : new int[]{0, 1, 0x1d, 0xca}) {
+            byte[] actual = acc.clone();
+            byte[] fallback = acc.clone();
+            gf256.mulAddRegion(src, c, actual);
+            expected.mulAddRegion(src, c, fallback);
+            assertThat(actual, is(fallback));
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(acc.length);
+            direct.put(acc).flip();
+            gf256.mulAddRegion(ByteBuffer.wrap(src).asReadOnlyBuffer(), c, direct);
+            assertThat(direct.position(), is(0));
+            byte[] fromDirect = new byte[acc.length];
+            direct.get(fromDirect);
+            assertThat(fromDirect, is(fallback));
+        }
+    }
+
+    @Test
+    public void testSplitAndCombine() {
+        byte[] secret = "this is secret".getBytes();
+
+        List<Share> shares = Sss4j.split(secret, 3, 5, gf256);
+        assertThat(Sss4j.combine(shares.subList(0, 3), gf256), is(secret));
+
+        // compatible with the default implementation
+        assertThat(Sss4j.combine(shares.subList(2, 5), expected), is(secret));
+
+        Share issued = Sss4j.issue(shares, 6, gf256);
+        assertThat(issued.getValue(), is(Sss4j.issue(shares, 6, expected).getValue()));
+    }
+
+}
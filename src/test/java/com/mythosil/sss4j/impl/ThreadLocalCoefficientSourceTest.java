@@ -0,0 +1,155 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.impl;
+
+import com.mythosil.sss4j.Share;
+import com.mythosil.sss4j.Sss4j;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class ThreadLocalCoefficientSourceTest {
+
+    @Test
+    public void testReseed() {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger seeded = new AtomicInteger();
+        ThreadLocalCoefficientSource source = new ThreadLocalCoefficientSource(() -> {
+            created.incrementAndGet();
+            return new SeedCountingRandom(seeded);
+        }, 10);
+
+        source.nextCoefficients(new byte[8]);
+        assertThat(created.get(), is(1));
+        source.nextCoefficients(new byte[8]);
+        assertThat(seeded.get(), is(0));
+        source.nextCoefficients(new byte[8]);
+        assertThat(seeded.get(), is(1));
+        // the generator is reseeded in place
+        assertThat(created.get(), is(1));
+    }
+
+    @Test
+    public void testDefaultGenerator() {
+        String algorithm = ThreadLocalCoefficientSource.newGenerator().getAlgorithm();
+        assertThat(algorithm.equals("DRBG") || algorithm.equals("SHA1PRNG"), is(true));
+    }
+
+    @Test
+    public void testSeedSource_non_blocking() {
+        assumeTrue(new File("/dev/urandom").exists());
+        assertThat(ThreadLocalCoefficientSource.newSeedSource().getAlgorithm(), is("NativePRNGNonBlocking"));
+    }
+
+    @Test
+    public void testNoContentionAmongThreads() throws Exception {
+        ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        assumeTrue(mx.isThreadContentionMonitoringSupported());
+        mx.setThreadContentionMonitoringEnabled(true);
+
+        ThreadLocalCoefficientSource source = new ThreadLocalCoefficientSource();
+        int threads = 8;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    // the generator of the thread is created and seeded here
+                    source.nextCoefficients(new byte[16]);
+                    barrier.await();
+                    long id = Thread.currentThread().getId();
+                    long before = mx.getThreadInfo(id).getBlockedCount();
+                    byte[] coefficients = new byte[4096];
+                    // less than the reseed interval
+                    for (int i = 0; i < 128; i++) {
+                        source.nextCoefficients(coefficients);
+                    }
+                    return mx.getThreadInfo(id).getBlockedCount() - before;
+                }));
+            }
+            long blocked = 0;
+            for (Future<Long> result : results) {
+                // an error of a worker is thrown here
+                blocked += result.get();
+            }
+            assertThat(blocked, is(0L));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPerThread() throws InterruptedException {
+        AtomicInteger created = new AtomicInteger();
+        ThreadLocalCoefficientSource source = new ThreadLocalCoefficientSource(() -> {
+            created.incrementAndGet();
+            return new SecureRandom();
+        }, ThreadLocalCoefficientSource.DEFAULT_RESEED_INTERVAL);
+
+        source.nextCoefficients(new byte[8]);
+        Thread t = new Thread(() -> source.nextCoefficients(new byte[8]));
+        t.start();
+        t.join();
+        assertThat(created.get(), is(2));
+    }
+
+    @Test
+    public void testSplitAndCombine() {
+        byte[] secret = "this is secret".getBytes();
+        List<Share> shares = Sss4j.split(secret, 2, 3, new TableGF256(), new ThreadLocalCoefficientSource());
+        assertThat(Sss4j.combine(shares.subList(1, 3)), is(secret));
+
+        shares = Sss4j.split(secret, 2, 3, new TableGF256(), new RandomCoefficientSource(new SecureRandom()));
+        assertThat(Sss4j.combine(shares.subList(0, 2)), is(secret));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testException_invalid_interval() {
+        new ThreadLocalCoefficientSource(SecureRandom::new, 0);
+    }
+
+    private static class SeedCountingRandom extends SecureRandom {
+
+        private final AtomicInteger seeded;
+
+        SeedCountingRandom(AtomicInteger seeded) {
+            this.seeded = seeded;
+        }
+
+        @Override
+        public void setSeed(byte[] seed) {
+            seeded.incrementAndGet();
+            super.setSeed(seed);
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright 2016 Akito Tabira
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mythosil.sss4j.impl;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Java Vector API implementation of GF256.
+ *
+ * <p>
+ * Region operations split every byte into two nibbles and look both up in
+ * 16-entry product tables with {@code ByteVector.selectFrom}, processing a whole
+ * vector (32-64 bytes on AVX2/AVX-512) per instruction. The lookups are
+ * written out in each loop rather than in a helper, since vectors passed to a
+ * call the JIT does not inline are boxed on the heap. Scalar operations are
+ * inherited from {@link TableGF256}.
+ *
+ * <p>
+ * This class requires JDK 17+ with {@code --add-modules jdk.incubator.vector}.
+ * Use {@link GF256Factory#getFastest()} to fall back to the scalar
+ * implementation when it is not available.
+ *
+ * @since 1.1.0
+ */
+public class VectorGF256 extends TableGF256 {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    /**
+     * LOW[c] = { c * 0x00, c * 0x01, ..., c * 0x0f } repeated to the vector length
+     */
+    private static final byte[][] LOW = new byte[256][];
+
+    /**
+     * HIGH[c] = { c * 0x00, c * 0x10, ..., c * 0xf0 } repeated to the vector length
+     */
+    private static final byte[][] HIGH = new byte[256][];
+
+    static {
+        int length = SPECIES.length();
+        if (length < 16) {
+            throw new UnsupportedOperationException("vector length should be 16 bytes or more");
+        }
+        for (int c = 0; c < 256; c++) {
+            LOW[c] = new byte[length];
+            HIGH[c] = new byte[length];
+            for (int i = 0; i < length; i++) {
+                LOW[c][i] = MUL[(c << 8) | (i & 0x0F)];
+                HIGH[c][i] = MUL[(c << 8) | ((i & 0x0F) << 4)];
+            }
+        }
+    }
+
+    @Override
+    public void mulRegion(byte[] src, int srcOff, int c, byte[] dst, int dstOff, int len) {
+        ByteVector low = ByteVector.fromArray(SPECIES, LOW[c], 0);
+        ByteVector high = ByteVector.fromArray(SPECIES, HIGH[c], 0);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(len); i < bound; i += SPECIES.length()) {
+            ByteVector v = ByteVector.fromArray(SPECIES, src, srcOff + i);
+            ByteVector lowNibbles = v.and((byte) 0x0F);
+            ByteVector highNibbles = v.lanewise(VectorOperators.LSHR, 4).and((byte) 0x0F);
+            lowNibbles.selectFrom(low).lanewise(VectorOperators.XOR, highNibbles.selectFrom(high))
+                    .intoArray(dst, dstOff + i);
+        }
+        super.mulRegion(src, srcOff + i, c, dst, dstOff + i, len - i);
+    }
+
+    @Override
+    public void mulAddRegion(byte[] src, int srcOff, int c, byte[] dst, int dstOff, int len) {
+        if (c == 0) {
+            return;
+        }
+        ByteVector low = ByteVector.fromArray(SPECIES, LOW[c], 0);
+        ByteVector high = ByteVector.fromArray(SPECIES, HIGH[c], 0);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(len); i < bound; i += SPECIES.length()) {
+            ByteVector v = ByteVector.fromArray(SPECIES, src, srcOff + i);
+            ByteVector acc = ByteVector.fromArray(SPECIES, dst, dstOff + i);
+            ByteVector lowNibbles = v.and((byte) 0x0F);
+            ByteVector highNibbles = v.lanewise(VectorOperators.LSHR, 4).and((byte) 0x0F);
+            acc.lanewise(VectorOperators.XOR, lowNibbles.selectFrom(low))
+                    .lanewise(VectorOperators.XOR, highNibbles.selectFrom(high))
+                    .intoArray(dst, dstOff + i);
+        }
+        super.mulAddRegion(src, srcOff + i, c, dst, dstOff + i, len - i);
+    }
+
+}